@@ -0,0 +1,141 @@
+package de.cronn.jira.sync;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+final class ConcurrencyUtils {
+
+	private ConcurrencyUtils() {
+	}
+
+	/**
+	 * Creates a bounded executor that runs tasks in the submitting thread while all threads are busy and the queue is full.
+	 *
+	 * @return the executor, or {@code null} to run everything in the calling thread if the parallelism is not greater than one
+	 */
+	static ExecutorService newExecutor(int parallelism, String threadNamePrefix) {
+		if (parallelism <= 1) {
+			return null;
+		}
+		return new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+			new ArrayBlockingQueue<>(parallelism), new CustomizableThreadFactory(threadNamePrefix), new ThreadPoolExecutor.CallerRunsPolicy());
+	}
+
+	static void shutDown(ExecutorService executor) {
+		if (executor != null) {
+			executor.shutdownNow();
+		}
+	}
+
+	static <T> void forEach(Stream<T> elements, ExecutorService executor, Consumer<? super T> action) {
+		forEachInBatches(elements, 1, batch -> {
+		}, executor, action);
+	}
+
+	/**
+	 * Processes the elements with the executor while they are streamed. The first failure is rethrown as soon as it is noticed,
+	 * and only the futures of unfinished elements are retained.
+	 */
+	static <T> void forEachInBatches(Stream<T> elements, int batchSize, Consumer<? super List<T>> batchPreparation,
+									 ExecutorService executor, Consumer<? super T> action) {
+		Assert.isTrue(batchSize > 0, "batchSize must be positive");
+		if (executor == null) {
+			forEachBatch(elements, batchSize, batch -> {
+				batchPreparation.accept(batch);
+				batch.forEach(action);
+			});
+			return;
+		}
+
+		CompletionService<Void> completionService = new ExecutorCompletionService<>(executor);
+		AtomicInteger unfinished = new AtomicInteger();
+		forEachBatch(elements, batchSize, batch -> {
+			batchPreparation.accept(batch);
+			for (T element : batch) {
+				completionService.submit(() -> action.accept(element), null);
+				unfinished.incrementAndGet();
+				for (Future<Void> finished = completionService.poll(); finished != null; finished = completionService.poll()) {
+					unfinished.decrementAndGet();
+					getResult(finished);
+				}
+			}
+		});
+		for (; unfinished.get() > 0; unfinished.decrementAndGet()) {
+			getResult(take(completionService));
+		}
+	}
+
+	private static <T> void forEachBatch(Stream<T> elements, int batchSize, Consumer<List<T>> batchAction) {
+		List<T> batch = new ArrayList<>(batchSize);
+		elements.forEachOrdered(element -> {
+			batch.add(element);
+			if (batch.size() >= batchSize) {
+				batchAction.accept(new ArrayList<>(batch));
+				batch.clear();
+			}
+		});
+		if (!batch.isEmpty()) {
+			batchAction.accept(batch);
+		}
+	}
+
+	static <T, R> List<R> map(List<T> elements, ExecutorService executor, Function<? super T, ? extends R> function) {
+		if (executor == null || elements.size() <= 1) {
+			return elements.stream().map(function).collect(Collectors.toList());
+		}
+
+		List<Future<R>> futures = new ArrayList<>();
+		for (T element : elements) {
+			futures.add(executor.submit(() -> function.apply(element)));
+		}
+		List<R> results = new ArrayList<>();
+		for (Future<R> future : futures) {
+			results.add(getResult(future));
+		}
+		return results;
+	}
+
+	private static <R> Future<R> take(CompletionService<R> completionService) {
+		try {
+			return completionService.take();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new JiraSyncException("Interrupted while waiting for result", e);
+		}
+	}
+
+	private static <R> R getResult(Future<R> future) {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new JiraSyncException("Interrupted while waiting for result", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new JiraSyncException("Execution failed", cause);
+		}
+	}
+
+}
@@ -1,15 +1,27 @@
 package de.cronn.jira.sync;
 
 import java.text.MessageFormat;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,14 +30,20 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 
+import de.cronn.jira.sync.config.IncrementalSyncConfig;
 import de.cronn.jira.sync.config.JiraProjectSync;
 import de.cronn.jira.sync.config.JiraSyncConfig;
+import de.cronn.jira.sync.config.TransitionConfig;
 import de.cronn.jira.sync.domain.JiraIssue;
 import de.cronn.jira.sync.domain.JiraProject;
+import de.cronn.jira.sync.domain.JiraUser;
 import de.cronn.jira.sync.link.JiraIssueLinker;
+import de.cronn.jira.sync.mapping.JiraUserDirectory;
+import de.cronn.jira.sync.service.JiraIssueProjection;
 import de.cronn.jira.sync.service.JiraService;
+import de.cronn.jira.sync.store.IssueFingerprintStore;
+import de.cronn.jira.sync.store.SyncWatermarkStore;
 import de.cronn.jira.sync.strategy.ExistingTargetJiraIssueSyncStrategy;
-import de.cronn.jira.sync.strategy.IssueSyncStrategy;
 import de.cronn.jira.sync.strategy.MissingTargetJiraIssueSyncStrategy;
 import de.cronn.jira.sync.strategy.SyncResult;
 
@@ -35,20 +53,31 @@ public class JiraSyncTask implements CommandLineRunner {
 
 	private static final Logger log = LoggerFactory.getLogger(JiraSyncTask.class);
 
+	private static final DateTimeFormatter JQL_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy/MM/dd HH:mm");
+
 	private final JiraService jiraSource;
 	private final JiraService jiraTarget;
 	private final JiraSyncConfig jiraSyncConfig;
 	private final JiraIssueLinker jiraIssueLinker;
 	private final MissingTargetJiraIssueSyncStrategy missingTargetJiraIssueSyncStrategy;
 	private final ExistingTargetJiraIssueSyncStrategy existingTargetJiraIssueSyncStrategy;
+	private final SyncWatermarkStore syncWatermarkStore;
+	private final IssueFingerprintStore issueFingerprintStore;
+	private final JiraUserDirectory userDirectory;
+	private final Clock clock;
 
-	public JiraSyncTask(JiraService jiraSource, JiraService jiraTarget, JiraSyncConfig jiraSyncConfig, JiraIssueLinker jiraIssueLinker, MissingTargetJiraIssueSyncStrategy missingTargetJiraIssueSyncStrategy, ExistingTargetJiraIssueSyncStrategy existingTargetJiraIssueSyncStrategy) {
+	public JiraSyncTask(JiraService jiraSource, JiraService jiraTarget, JiraSyncConfig jiraSyncConfig, JiraIssueLinker jiraIssueLinker, MissingTargetJiraIssueSyncStrategy missingTargetJiraIssueSyncStrategy, ExistingTargetJiraIssueSyncStrategy existingTargetJiraIssueSyncStrategy,
+						SyncWatermarkStore syncWatermarkStore, IssueFingerprintStore issueFingerprintStore, JiraUserDirectory userDirectory, Clock clock) {
 		this.jiraSource = jiraSource;
 		this.jiraTarget = jiraTarget;
 		this.jiraSyncConfig = jiraSyncConfig;
 		this.jiraIssueLinker = jiraIssueLinker;
 		this.missingTargetJiraIssueSyncStrategy = missingTargetJiraIssueSyncStrategy;
 		this.existingTargetJiraIssueSyncStrategy = existingTargetJiraIssueSyncStrategy;
+		this.syncWatermarkStore = syncWatermarkStore;
+		this.issueFingerprintStore = issueFingerprintStore;
+		this.userDirectory = userDirectory;
+		this.clock = clock;
 	}
 
 	@Override
@@ -68,6 +97,7 @@ public class JiraSyncTask implements CommandLineRunner {
 		try {
 			jiraSource.login(jiraSyncConfig.getSource(), true);
 			jiraTarget.login(jiraSyncConfig.getTarget(), false);
+			userDirectory.clear();
 
 			log.info("going to link source={} with target={}", jiraSource, jiraTarget);
 			log.info("jiraSource server info: {}", jiraSource.getServerInfo());
@@ -89,10 +119,13 @@ public class JiraSyncTask implements CommandLineRunner {
 	}
 
 	private List<ProjectSyncResult> syncProjects(Map<String, JiraProjectSync> projects) {
-		List<ProjectSyncResult> projectSyncResults = new ArrayList<>();
-		for (JiraProjectSync projectSync : projects.values()) {
-			ProjectSyncResult syncResult = syncProject(jiraSource, jiraTarget, projectSync);
-			projectSyncResults.add(syncResult);
+		List<JiraProjectSync> projectSyncs = new ArrayList<>(projects.values());
+		ExecutorService projectExecutor = ConcurrencyUtils.newExecutor(Math.min(jiraSyncConfig.getProjectSyncParallelism(), projectSyncs.size()), "project-sync-");
+		List<ProjectSyncResult> projectSyncResults;
+		try {
+			projectSyncResults = ConcurrencyUtils.map(projectSyncs, projectExecutor, projectSync -> syncProject(jiraSource, jiraTarget, projectSync));
+		} finally {
+			ConcurrencyUtils.shutDown(projectExecutor);
 		}
 
 		List<JiraProjectSync> failedProjects = findFailedProjects(projectSyncResults);
@@ -118,58 +151,273 @@ public class JiraSyncTask implements CommandLineRunner {
 	private ProjectSyncResult syncProject(JiraService jiraSource, JiraService jiraTarget, JiraProjectSync projectSync) {
 		log.info("syncing project {}", format(projectSync));
 
+		// one executor per project sync, shared by the issue syncs and the lookups of each batch
+		ExecutorService issueExecutor = ConcurrencyUtils.newExecutor(jiraSyncConfig.getIssueSyncParallelism(), "sync-" + projectSync.getSourceProject() + "-");
 		try {
 			List<String> sourceFilterIds = projectSync.getSourceFilterIds();
 			Assert.notEmpty(sourceFilterIds, "sourceFilterIds must be configured");
-			Set<String> customFields = jiraSyncConfig.getFieldMapping().keySet();
-			List<JiraIssue> issues = sourceFilterIds.stream()
-				.map(sourceFilterId -> jiraSource.getIssuesByFilterId(sourceFilterId, customFields))
-				.flatMap(Collection::stream)
+			JiraIssueProjection sourceIssueProjection = getSourceIssueProjection(projectSync);
+			Instant syncStart = clock.instant();
+			String syncId = jiraSource.getUrl() + " " + format(projectSync) + " " + sourceFilterIds;
+			String updatedSinceJql = getUpdatedSinceJql(syncId, syncStart);
+			Stream<JiraIssue> issues = sourceFilterIds.stream()
+				.flatMap(sourceFilterId -> jiraSource.streamIssuesByFilterId(sourceFilterId, sourceIssueProjection, updatedSinceJql))
 				.filter(StreamUtils.distinctByKey(JiraIssue::getKey))
-				.collect(Collectors.toList());
+				.filter(sourceIssue -> isInSourceProject(sourceIssue, projectSync));
 
-			Map<SyncResult, Long> resultCounts = new EnumMap<>(SyncResult.class);
+			Map<SyncResult, LongAdder> concurrentResultCounts = new EnumMap<>(SyncResult.class);
 			for (SyncResult syncResult : SyncResult.values()) {
-				resultCounts.put(syncResult, 0L);
+				concurrentResultCounts.put(syncResult, new LongAdder());
 			}
 
-			for (JiraIssue sourceIssue : issues) {
-				SyncResult syncResult = syncIssue(sourceIssue, jiraSource, jiraTarget, projectSync);
-				log.info("'{}' {}", sourceIssue.getKey(), syncResult.getDisplayName());
-				resultCounts.compute(syncResult, (k, v) -> v + 1);
+			Map<String, Optional<JiraIssue>> resolvedTargetIssues = new ConcurrentHashMap<>();
+			Map<String, JiraIssue> createdTargetIssues = new ConcurrentHashMap<>();
+			int batchSize = Math.max(1, jiraSyncConfig.getTargetIssueBatchSize());
+			JiraIssueProjection targetIssueProjection = getTargetIssueProjection(projectSync);
+			ConcurrencyUtils.forEachInBatches(issues, batchSize,
+				batch -> {
+					resolveMentionedUsers(batch, issueExecutor);
+					Map<String, Optional<JiraIssue>> resolvedBatch = resolveTargetIssues(batch, targetIssueProjection, issueExecutor);
+					resolvedTargetIssues.putAll(resolvedBatch);
+					createdTargetIssues.putAll(createMissingTargetIssues(batch, resolvedBatch, projectSync));
+				},
+				issueExecutor, sourceIssue -> {
+					Optional<JiraIssue> resolvedTargetIssue = resolvedTargetIssues.remove(sourceIssue.getKey());
+					JiraIssue createdTargetIssue = createdTargetIssues.remove(sourceIssue.getKey());
+					final SyncResult syncResult;
+					if (createdTargetIssue != null) {
+						syncResult = completeCreation(sourceIssue, createdTargetIssue, projectSync);
+					} else {
+						syncResult = syncIssue(sourceIssue, resolvedTargetIssue, targetIssueProjection, jiraSource, jiraTarget, projectSync);
+					}
+					log.info("'{}' {}", sourceIssue.getKey(), syncResult.getDisplayName());
+					concurrentResultCounts.get(syncResult).increment();
+				});
+
+			Map<SyncResult, Long> resultCounts = new EnumMap<>(SyncResult.class);
+			for (Entry<SyncResult, LongAdder> entry : concurrentResultCounts.entrySet()) {
+				resultCounts.put(entry.getKey(), entry.getValue().sum());
 			}
 
 			for (Entry<SyncResult, Long> entry : resultCounts.entrySet()) {
 				log.info("{}   {} issues: {}", format(projectSync), entry.getKey().getDisplayName(), entry.getValue());
 			}
 
-			return new ProjectSyncResult(projectSync, resultCounts);
+			ProjectSyncResult projectSyncResult = new ProjectSyncResult(projectSync, resultCounts);
+			if (jiraSyncConfig.getIncrementalSync().isEnabled() && !projectSyncResult.hasFailed()) {
+				syncWatermarkStore.recordSuccessfulSync(syncId, syncStart, updatedSinceJql == null);
+			}
+			return projectSyncResult;
 		} catch (JiraSyncException e) {
 			log.error("Failed to synchronize {}", format(projectSync), e);
 			return ProjectSyncResult.genericException(projectSync);
+		} finally {
+			ConcurrencyUtils.shutDown(issueExecutor);
 		}
 	}
 
-	private SyncResult syncIssue(JiraIssue sourceIssue, JiraService jiraSource, JiraService jiraTarget, JiraProjectSync projectSync) {
-		JiraProject project = sourceIssue.getFields().getProject();
-		if (!project.getKey().equals(projectSync.getSourceProject())) {
-			throw new JiraSyncException("Filter returned issue " + sourceIssue + " from unexpected project " + project);
+	private String getUpdatedSinceJql(String syncId, Instant syncStart) {
+		IncrementalSyncConfig incrementalSync = jiraSyncConfig.getIncrementalSync();
+		if (!incrementalSync.isEnabled()) {
+			return null;
+		}
+
+		Instant lastSync = syncWatermarkStore.getLastSync(syncId);
+		Instant lastFullSync = syncWatermarkStore.getLastFullSync(syncId);
+		if (lastSync == null || lastFullSync == null) {
+			log.info("{}: no previous sync found, performing full sync", syncId);
+			return null;
+		}
+
+		Instant nextFullSync = lastFullSync.plus(Duration.ofHours(incrementalSync.getFullSyncIntervalHours()));
+		if (!syncStart.isBefore(nextFullSync)) {
+			log.info("{}: last full sync was at {}, performing full reconciliation", syncId, lastFullSync);
+			return null;
+		}
+
+		if (lastSync.isAfter(syncStart)) {
+			log.warn("{}: last sync at {} is in the future, performing full sync", syncId, lastSync);
+			return null;
+		}
+
+		// an absolute bound, a relative one would move while the pages of the result are fetched
+		Instant updatedSince = lastSync.minus(Duration.ofMinutes(incrementalSync.getOverlapMinutes()));
+		String formattedUpdatedSince = JQL_DATE_FORMAT.format(updatedSince.atZone(getSourceTimeZone()));
+		log.info("{}: performing incremental sync of issues updated since {}", syncId, updatedSince);
+		return "updated >= \"" + formattedUpdatedSince + "\"";
+	}
+
+	/**
+	 * JQL dates are interpreted in the time zone of the user that runs the query
+	 */
+	private ZoneId getSourceTimeZone() {
+		String timeZone = jiraSyncConfig.getIncrementalSync().getTimeZone();
+		if (timeZone == null) {
+			timeZone = jiraSource.getMyself().getTimeZone();
+		}
+		if (timeZone == null) {
+			return clock.getZone();
+		}
+		return ZoneId.of(timeZone);
+	}
+
+	private Map<String, Optional<JiraIssue>> resolveTargetIssues(List<JiraIssue> sourceIssues, JiraIssueProjection targetIssueProjection, ExecutorService executor) {
+		if (sourceIssues.size() <= 1) {
+			return Collections.emptyMap();
+		}
+
+		List<Optional<String>> targetKeys = ConcurrencyUtils.map(sourceIssues, executor, sourceIssue -> {
+			try {
+				return Optional.ofNullable(jiraIssueLinker.resolveKey(sourceIssue, jiraSource, jiraTarget));
+			} catch (JiraSyncException e) {
+				log.debug("Failed to resolve target key of {}", sourceIssue, e);
+				return null;
+			}
+		});
+
+		Set<String> keysToFetch = targetKeys.stream()
+			.filter(Objects::nonNull)
+			.filter(Optional::isPresent)
+			.map(Optional::get)
+			.collect(Collectors.toCollection(LinkedHashSet::new));
+		Map<String, JiraIssue> targetIssuesByKey = new HashMap<>();
+		if (!keysToFetch.isEmpty()) {
+			try {
+				for (JiraIssue targetIssue : jiraTarget.getIssuesByKeys(keysToFetch, targetIssueProjection)) {
+					targetIssuesByKey.put(targetIssue.getKey(), targetIssue);
+				}
+			} catch (RuntimeException e) {
+				log.warn("Failed to fetch {} target issues, resolving them one by one", keysToFetch.size(), e);
+				return Collections.emptyMap();
+			}
+		}
+
+		// issues whose key could not be resolved or fetched (e.g. moved issues) are resolved one by one later
+		Map<String, Optional<JiraIssue>> resolvedTargetIssues = new HashMap<>();
+		for (int i = 0; i < sourceIssues.size(); i++) {
+			Optional<String> targetKey = targetKeys.get(i);
+			if (targetKey == null) {
+				continue;
+			}
+			String sourceKey = sourceIssues.get(i).getKey();
+			if (!targetKey.isPresent()) {
+				resolvedTargetIssues.put(sourceKey, Optional.empty());
+			} else if (targetIssuesByKey.containsKey(targetKey.get())) {
+				resolvedTargetIssues.put(sourceKey, Optional.of(targetIssuesByKey.get(targetKey.get())));
+			}
+		}
+		log.debug("resolved {}/{} target issues in batch", resolvedTargetIssues.size(), sourceIssues.size());
+		return resolvedTargetIssues;
+	}
+
+	private JiraIssueProjection getSourceIssueProjection(JiraProjectSync projectSync) {
+		boolean includeChangelog = projectSync.getTransitions().values().stream()
+			.anyMatch(transition -> transition.getOnlyIfStatusTransitionNewerIn() != null);
+		return new JiraIssueProjection(jiraSyncConfig.getFieldMapping().keySet(), true, includeChangelog);
+	}
+
+	private JiraIssueProjection getTargetIssueProjection(JiraProjectSync projectSync) {
+		Set<String> targetCustomFields = new LinkedHashSet<>(jiraSyncConfig.getFieldMapping().values());
+		for (TransitionConfig transition : projectSync.getTransitions().values()) {
+			for (Map<String, String> customFields : transition.getCustomFieldsToCopyFromTargetToSource().values()) {
+				targetCustomFields.addAll(customFields.values());
+			}
+		}
+		return new JiraIssueProjection(targetCustomFields, projectSync.isCopyCommentsToTarget());
+	}
+
+	private void resolveMentionedUsers(List<JiraIssue> sourceIssues, ExecutorService executor) {
+		List<String> usernames = new ArrayList<>(userDirectory.getUnknownMentionedUsernames(jiraSource, sourceIssues));
+		if (usernames.isEmpty()) {
+			return;
 		}
 		try {
-			JiraIssue targetIssue = jiraIssueLinker.resolveIssue(sourceIssue, jiraSource, jiraTarget);
-			IssueSyncStrategy syncStrategy = getSyncStrategy(targetIssue);
-			return syncStrategy.sync(jiraSource, jiraTarget, sourceIssue, targetIssue, projectSync);
+			List<JiraUser> users = ConcurrencyUtils.map(usernames, executor, jiraSource::getUserByName);
+			for (int i = 0; i < usernames.size(); i++) {
+				userDirectory.putUser(jiraSource, usernames.get(i), users.get(i));
+			}
+			log.debug("resolved {} mentioned users", usernames.size());
+		} catch (RuntimeException e) {
+			log.warn("Failed to resolve {} mentioned users, falling back to single lookups", usernames.size(), e);
+		}
+	}
+
+	private Map<String, JiraIssue> createMissingTargetIssues(List<JiraIssue> sourceIssues, Map<String, Optional<JiraIssue>> resolvedTargetIssues, JiraProjectSync projectSync) {
+		int creationBatchSize = jiraSyncConfig.getIssueCreationBatchSize();
+		if (creationBatchSize <= 1) {
+			return Collections.emptyMap();
+		}
+
+		List<JiraIssue> sourceIssuesWithoutTarget = sourceIssues.stream()
+			.filter(sourceIssue -> Optional.empty().equals(resolvedTargetIssues.get(sourceIssue.getKey())))
+			.collect(Collectors.toList());
+		if (sourceIssuesWithoutTarget.size() <= 1) {
+			return Collections.emptyMap();
+		}
+
+		Map<String, JiraIssue> createdTargetIssues = new HashMap<>();
+		for (int fromIndex = 0; fromIndex < sourceIssuesWithoutTarget.size(); fromIndex += creationBatchSize) {
+			List<JiraIssue> chunk = sourceIssuesWithoutTarget.subList(fromIndex, Math.min(fromIndex + creationBatchSize, sourceIssuesWithoutTarget.size()));
+			try {
+				Map<String, JiraIssue> createdIssues = missingTargetJiraIssueSyncStrategy.createIssues(jiraSource, jiraTarget, chunk, projectSync);
+				// issues that failed in bulk are left out and thus created one by one when they are synced
+				createdIssues.forEach((sourceKey, createdIssue) -> {
+					if (createdIssue != null) {
+						createdTargetIssues.put(sourceKey, createdIssue);
+					}
+				});
+			} catch (JiraSyncException e) {
+				log.warn("Failed to create {} issues in bulk, creating them one by one", chunk.size(), e);
+			}
+		}
+		return createdTargetIssues;
+	}
+
+	private SyncResult completeCreation(JiraIssue sourceIssue, JiraIssue createdTargetIssue, JiraProjectSync projectSync) {
+		try {
+			return missingTargetJiraIssueSyncStrategy.completeCreation(jiraSource, jiraTarget, sourceIssue, createdTargetIssue, projectSync);
 		} catch (JiraSyncException e) {
 			log.error("Issue synchronisation failed", e);
 			return SyncResult.FAILED;
 		}
 	}
 
-	private IssueSyncStrategy getSyncStrategy(JiraIssue targetIssue) {
-		if (targetIssue == null) {
-			return missingTargetJiraIssueSyncStrategy;
-		} else {
-			return existingTargetJiraIssueSyncStrategy;
+	private static boolean isInSourceProject(JiraIssue sourceIssue, JiraProjectSync projectSync) {
+		// an issue moved to another project after its key was fetched comes back with the key of that project
+		JiraProject project = sourceIssue.getFields().getProject();
+		if (!project.getKey().equals(projectSync.getSourceProject())) {
+			log.warn("Skipping issue {} of filter from unexpected project {}", sourceIssue, project);
+			return false;
+		}
+		return true;
+	}
+
+	private SyncResult syncIssue(JiraIssue sourceIssue, Optional<JiraIssue> resolvedTargetIssue, JiraIssueProjection targetIssueProjection, JiraService jiraSource, JiraService jiraTarget, JiraProjectSync projectSync) {
+		try {
+			JiraIssue targetIssue;
+			if (resolvedTargetIssue != null) {
+				targetIssue = resolvedTargetIssue.orElse(null);
+			} else {
+				targetIssue = jiraIssueLinker.resolveIssue(sourceIssue, jiraSource, jiraTarget, targetIssueProjection);
+			}
+			if (targetIssue == null) {
+				return missingTargetJiraIssueSyncStrategy.sync(jiraSource, jiraTarget, sourceIssue, projectSync);
+			}
+			String fingerprint = issueFingerprintStore.computeFingerprint(sourceIssue, targetIssue, projectSync);
+			if (issueFingerprintStore.hasFingerprint(jiraSource, sourceIssue, jiraTarget, targetIssue, fingerprint)) {
+				log.debug("'{}' and '{}' did not change since the last sync", sourceIssue.getKey(), targetIssue.getKey());
+				return SyncResult.UNCHANGED;
+			}
+			SyncResult syncResult = existingTargetJiraIssueSyncStrategy.sync(jiraSource, jiraTarget, sourceIssue, targetIssue, projectSync);
+			if (syncResult == SyncResult.UNCHANGED) {
+				issueFingerprintStore.putFingerprint(jiraSource, sourceIssue, jiraTarget, targetIssue, fingerprint);
+			} else {
+				issueFingerprintStore.removeFingerprint(jiraSource, sourceIssue, jiraTarget, targetIssue);
+			}
+			return syncResult;
+		} catch (JiraSyncException e) {
+			log.error("Issue synchronisation failed", e);
+			return SyncResult.FAILED;
 		}
 	}
 
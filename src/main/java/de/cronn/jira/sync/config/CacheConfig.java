@@ -1,11 +1,16 @@
 package de.cronn.jira.sync.config;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 public class CacheConfig {
 
 	private static final String DEFAULT_DIRECTORY = "cache";
 
 	private boolean persistent;
 	private String directory = DEFAULT_DIRECTORY;
+	private boolean statistics;
+	private Map<String, CacheTierConfig> caches = new LinkedHashMap<>();
 
 	public boolean isPersistent() {
 		return persistent;
@@ -22,4 +27,20 @@ public class CacheConfig {
 	public void setDirectory(String directory) {
 		this.directory = directory;
 	}
+
+	public boolean isStatistics() {
+		return statistics;
+	}
+
+	public void setStatistics(boolean statistics) {
+		this.statistics = statistics;
+	}
+
+	public Map<String, CacheTierConfig> getCaches() {
+		return caches;
+	}
+
+	public void setCaches(Map<String, CacheTierConfig> caches) {
+		this.caches = caches;
+	}
 }
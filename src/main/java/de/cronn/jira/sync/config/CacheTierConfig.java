@@ -0,0 +1,41 @@
+package de.cronn.jira.sync.config;
+
+public class CacheTierConfig {
+
+	private Long heapEntries;
+	private Long offHeapMegabytes;
+	private Long diskMegabytes;
+	private Long timeToLiveSeconds;
+
+	public Long getHeapEntries() {
+		return heapEntries;
+	}
+
+	public void setHeapEntries(Long heapEntries) {
+		this.heapEntries = heapEntries;
+	}
+
+	public Long getOffHeapMegabytes() {
+		return offHeapMegabytes;
+	}
+
+	public void setOffHeapMegabytes(Long offHeapMegabytes) {
+		this.offHeapMegabytes = offHeapMegabytes;
+	}
+
+	public Long getDiskMegabytes() {
+		return diskMegabytes;
+	}
+
+	public void setDiskMegabytes(Long diskMegabytes) {
+		this.diskMegabytes = diskMegabytes;
+	}
+
+	public Long getTimeToLiveSeconds() {
+		return timeToLiveSeconds;
+	}
+
+	public void setTimeToLiveSeconds(Long timeToLiveSeconds) {
+		this.timeToLiveSeconds = timeToLiveSeconds;
+	}
+}
@@ -0,0 +1,14 @@
+package de.cronn.jira.sync.config;
+
+public class FingerprintConfig {
+
+	private boolean enabled;
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+}
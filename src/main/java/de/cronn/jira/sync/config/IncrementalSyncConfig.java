@@ -0,0 +1,41 @@
+package de.cronn.jira.sync.config;
+
+public class IncrementalSyncConfig {
+
+	private boolean enabled;
+	private int overlapMinutes = 10;
+	private int fullSyncIntervalHours = 24;
+	private String timeZone;
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public int getOverlapMinutes() {
+		return overlapMinutes;
+	}
+
+	public void setOverlapMinutes(int overlapMinutes) {
+		this.overlapMinutes = overlapMinutes;
+	}
+
+	public int getFullSyncIntervalHours() {
+		return fullSyncIntervalHours;
+	}
+
+	public void setFullSyncIntervalHours(int fullSyncIntervalHours) {
+		this.fullSyncIntervalHours = fullSyncIntervalHours;
+	}
+
+	public String getTimeZone() {
+		return timeZone;
+	}
+
+	public void setTimeZone(String timeZone) {
+		this.timeZone = timeZone;
+	}
+}
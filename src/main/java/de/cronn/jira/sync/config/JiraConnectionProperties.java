@@ -13,6 +13,18 @@ public class JiraConnectionProperties {
 	private BasicAuthentication basicAuth;
 	private Resource sslTrustStore;
 	private char[] sslTrustStorePassword;
+	private int maxConcurrentSearchRequests = 1;
+	private int maxConcurrentCommentRequests = 1;
+	private int maxConcurrentAsyncRequests = 1;
+	private int maxConnections = 20;
+	private int maxConnectionsPerRoute = 20;
+	private int connectTimeoutMillis = 30_000;
+	private int readTimeoutMillis = 300_000;
+	private long keepAliveMillis = 30_000;
+	private long idleConnectionTimeoutMillis = 60_000;
+	private boolean contentCompression = true;
+	private RateLimitConfig rateLimit = new RateLimitConfig();
+	private RetryConfig retry = new RetryConfig();
 
 	@Override
 	public String toString() {
@@ -77,4 +89,100 @@ public class JiraConnectionProperties {
 	public char[] getSslTrustStorePassword() {
 		return sslTrustStorePassword;
 	}
+
+	public int getMaxConcurrentSearchRequests() {
+		return maxConcurrentSearchRequests;
+	}
+
+	public void setMaxConcurrentSearchRequests(int maxConcurrentSearchRequests) {
+		this.maxConcurrentSearchRequests = maxConcurrentSearchRequests;
+	}
+
+	public int getMaxConcurrentCommentRequests() {
+		return maxConcurrentCommentRequests;
+	}
+
+	public void setMaxConcurrentCommentRequests(int maxConcurrentCommentRequests) {
+		this.maxConcurrentCommentRequests = maxConcurrentCommentRequests;
+	}
+
+	public int getMaxConcurrentAsyncRequests() {
+		return maxConcurrentAsyncRequests;
+	}
+
+	public void setMaxConcurrentAsyncRequests(int maxConcurrentAsyncRequests) {
+		this.maxConcurrentAsyncRequests = maxConcurrentAsyncRequests;
+	}
+
+	public int getMaxConnections() {
+		return maxConnections;
+	}
+
+	public void setMaxConnections(int maxConnections) {
+		this.maxConnections = maxConnections;
+	}
+
+	public int getMaxConnectionsPerRoute() {
+		return maxConnectionsPerRoute;
+	}
+
+	public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+		this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+	}
+
+	public int getConnectTimeoutMillis() {
+		return connectTimeoutMillis;
+	}
+
+	public void setConnectTimeoutMillis(int connectTimeoutMillis) {
+		this.connectTimeoutMillis = connectTimeoutMillis;
+	}
+
+	public int getReadTimeoutMillis() {
+		return readTimeoutMillis;
+	}
+
+	public void setReadTimeoutMillis(int readTimeoutMillis) {
+		this.readTimeoutMillis = readTimeoutMillis;
+	}
+
+	public long getKeepAliveMillis() {
+		return keepAliveMillis;
+	}
+
+	public void setKeepAliveMillis(long keepAliveMillis) {
+		this.keepAliveMillis = keepAliveMillis;
+	}
+
+	public long getIdleConnectionTimeoutMillis() {
+		return idleConnectionTimeoutMillis;
+	}
+
+	public void setIdleConnectionTimeoutMillis(long idleConnectionTimeoutMillis) {
+		this.idleConnectionTimeoutMillis = idleConnectionTimeoutMillis;
+	}
+
+	public boolean isContentCompression() {
+		return contentCompression;
+	}
+
+	public void setContentCompression(boolean contentCompression) {
+		this.contentCompression = contentCompression;
+	}
+
+	public RateLimitConfig getRateLimit() {
+		return rateLimit;
+	}
+
+	public void setRateLimit(RateLimitConfig rateLimit) {
+		this.rateLimit = rateLimit;
+	}
+
+	public RetryConfig getRetry() {
+		return retry;
+	}
+
+	public void setRetry(RetryConfig retry) {
+		this.retry = retry;
+	}
 }
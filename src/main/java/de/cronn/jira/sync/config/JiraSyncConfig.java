@@ -11,7 +11,16 @@ import de.cronn.jira.sync.domain.JiraProject;
 public class JiraSyncConfig {
 
 	private boolean autostart = true;
+	private int projectSyncParallelism = 1;
+	private int issueSyncParallelism = 1;
+	private int targetIssueBatchSize = 50;
+	private int issueCreationBatchSize = 1;
+	private int userDirectorySize = 10000;
 	private CacheConfig cache = new CacheConfig();
+	private StateConfig state = new StateConfig();
+	private IncrementalSyncConfig incrementalSync = new IncrementalSyncConfig();
+	private LinkIndexConfig linkIndex = new LinkIndexConfig();
+	private FingerprintConfig fingerprints = new FingerprintConfig();
 	private JiraConnectionProperties source;
 	private JiraConnectionProperties target;
 	private Map<String, JiraProjectSync> projects = new LinkedHashMap<>();
@@ -79,6 +88,46 @@ public class JiraSyncConfig {
 		return autostart;
 	}
 
+	public int getProjectSyncParallelism() {
+		return projectSyncParallelism;
+	}
+
+	public void setProjectSyncParallelism(int projectSyncParallelism) {
+		this.projectSyncParallelism = projectSyncParallelism;
+	}
+
+	public int getIssueSyncParallelism() {
+		return issueSyncParallelism;
+	}
+
+	public void setIssueSyncParallelism(int issueSyncParallelism) {
+		this.issueSyncParallelism = issueSyncParallelism;
+	}
+
+	public int getTargetIssueBatchSize() {
+		return targetIssueBatchSize;
+	}
+
+	public void setTargetIssueBatchSize(int targetIssueBatchSize) {
+		this.targetIssueBatchSize = targetIssueBatchSize;
+	}
+
+	public int getIssueCreationBatchSize() {
+		return issueCreationBatchSize;
+	}
+
+	public void setIssueCreationBatchSize(int issueCreationBatchSize) {
+		this.issueCreationBatchSize = issueCreationBatchSize;
+	}
+
+	public int getUserDirectorySize() {
+		return userDirectorySize;
+	}
+
+	public void setUserDirectorySize(int userDirectorySize) {
+		this.userDirectorySize = userDirectorySize;
+	}
+
 	public CacheConfig getCache() {
 		return cache;
 	}
@@ -87,6 +136,38 @@ public class JiraSyncConfig {
 		this.cache = cache;
 	}
 
+	public StateConfig getState() {
+		return state;
+	}
+
+	public void setState(StateConfig state) {
+		this.state = state;
+	}
+
+	public IncrementalSyncConfig getIncrementalSync() {
+		return incrementalSync;
+	}
+
+	public void setIncrementalSync(IncrementalSyncConfig incrementalSync) {
+		this.incrementalSync = incrementalSync;
+	}
+
+	public LinkIndexConfig getLinkIndex() {
+		return linkIndex;
+	}
+
+	public void setLinkIndex(LinkIndexConfig linkIndex) {
+		this.linkIndex = linkIndex;
+	}
+
+	public FingerprintConfig getFingerprints() {
+		return fingerprints;
+	}
+
+	public void setFingerprints(FingerprintConfig fingerprints) {
+		this.fingerprints = fingerprints;
+	}
+
 	public void setFieldMapping(Map<String, String> fieldMapping) {
 		this.fieldMapping = fieldMapping;
 	}
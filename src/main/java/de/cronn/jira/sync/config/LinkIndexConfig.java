@@ -0,0 +1,23 @@
+package de.cronn.jira.sync.config;
+
+public class LinkIndexConfig {
+
+	private boolean enabled;
+	private boolean rebuild;
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public boolean isRebuild() {
+		return rebuild;
+	}
+
+	public void setRebuild(boolean rebuild) {
+		this.rebuild = rebuild;
+	}
+}
@@ -0,0 +1,59 @@
+package de.cronn.jira.sync.config;
+
+public class RateLimitConfig {
+
+	private boolean enabled;
+	private double requestsPerSecond;
+	private int maxConcurrentRequests = 16;
+	private int maxRetries = 5;
+	private long defaultRetryAfterMillis = 1_000;
+	private long maxRetryAfterMillis = 60_000;
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public double getRequestsPerSecond() {
+		return requestsPerSecond;
+	}
+
+	public void setRequestsPerSecond(double requestsPerSecond) {
+		this.requestsPerSecond = requestsPerSecond;
+	}
+
+	public int getMaxConcurrentRequests() {
+		return maxConcurrentRequests;
+	}
+
+	public void setMaxConcurrentRequests(int maxConcurrentRequests) {
+		this.maxConcurrentRequests = maxConcurrentRequests;
+	}
+
+	public int getMaxRetries() {
+		return maxRetries;
+	}
+
+	public void setMaxRetries(int maxRetries) {
+		this.maxRetries = maxRetries;
+	}
+
+	public long getDefaultRetryAfterMillis() {
+		return defaultRetryAfterMillis;
+	}
+
+	public void setDefaultRetryAfterMillis(long defaultRetryAfterMillis) {
+		this.defaultRetryAfterMillis = defaultRetryAfterMillis;
+	}
+
+	public long getMaxRetryAfterMillis() {
+		return maxRetryAfterMillis;
+	}
+
+	public void setMaxRetryAfterMillis(long maxRetryAfterMillis) {
+		this.maxRetryAfterMillis = maxRetryAfterMillis;
+	}
+}
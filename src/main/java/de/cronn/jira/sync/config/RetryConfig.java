@@ -0,0 +1,63 @@
+package de.cronn.jira.sync.config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class RetryConfig {
+
+	private boolean enabled;
+	private int maxAttempts = 5;
+	private long initialBackoffMillis = 500;
+	private long maxBackoffMillis = 30_000;
+	private long timeBudgetMillis = 120_000;
+	private List<Integer> statusCodes = new ArrayList<>(Arrays.asList(502, 504));
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public int getMaxAttempts() {
+		return maxAttempts;
+	}
+
+	public void setMaxAttempts(int maxAttempts) {
+		this.maxAttempts = maxAttempts;
+	}
+
+	public long getInitialBackoffMillis() {
+		return initialBackoffMillis;
+	}
+
+	public void setInitialBackoffMillis(long initialBackoffMillis) {
+		this.initialBackoffMillis = initialBackoffMillis;
+	}
+
+	public long getMaxBackoffMillis() {
+		return maxBackoffMillis;
+	}
+
+	public void setMaxBackoffMillis(long maxBackoffMillis) {
+		this.maxBackoffMillis = maxBackoffMillis;
+	}
+
+	public long getTimeBudgetMillis() {
+		return timeBudgetMillis;
+	}
+
+	public void setTimeBudgetMillis(long timeBudgetMillis) {
+		this.timeBudgetMillis = timeBudgetMillis;
+	}
+
+	public List<Integer> getStatusCodes() {
+		return statusCodes;
+	}
+
+	public void setStatusCodes(List<Integer> statusCodes) {
+		this.statusCodes = statusCodes;
+	}
+}
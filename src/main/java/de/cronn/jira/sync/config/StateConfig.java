@@ -0,0 +1,16 @@
+package de.cronn.jira.sync.config;
+
+public class StateConfig {
+
+	private static final String DEFAULT_DIRECTORY = "state";
+
+	private String directory = DEFAULT_DIRECTORY;
+
+	public String getDirectory() {
+		return directory;
+	}
+
+	public void setDirectory(String directory) {
+		this.directory = directory;
+	}
+}
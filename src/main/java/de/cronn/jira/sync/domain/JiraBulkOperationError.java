@@ -0,0 +1,59 @@
+package de.cronn.jira.sync.domain;
+
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+public class JiraBulkOperationError implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private int status;
+	private int failedElementNumber;
+	private Map<String, Object> elementErrors = new LinkedHashMap<>();
+
+	public JiraBulkOperationError() {
+	}
+
+	public JiraBulkOperationError(int status, int failedElementNumber, Map<String, Object> elementErrors) {
+		this.status = status;
+		this.failedElementNumber = failedElementNumber;
+		this.elementErrors = elementErrors;
+	}
+
+	public int getStatus() {
+		return status;
+	}
+
+	public void setStatus(int status) {
+		this.status = status;
+	}
+
+	public int getFailedElementNumber() {
+		return failedElementNumber;
+	}
+
+	public void setFailedElementNumber(int failedElementNumber) {
+		this.failedElementNumber = failedElementNumber;
+	}
+
+	public Map<String, Object> getElementErrors() {
+		return elementErrors;
+	}
+
+	public void setElementErrors(Map<String, Object> elementErrors) {
+		this.elementErrors = elementErrors;
+	}
+
+	@Override
+	public String toString() {
+		return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
+			.append("status", status)
+			.append("failedElementNumber", failedElementNumber)
+			.append("elementErrors", elementErrors)
+			.toString();
+	}
+}
@@ -1,8 +1,6 @@
 package de.cronn.jira.sync.domain;
 
-import java.util.ArrayList;
-
-public class JiraComponentsList extends ArrayList<JiraComponent> {
+public class JiraComponentsList extends JiraNamedResourceList<JiraComponent> {
 
 	private static final long serialVersionUID = 1L;
 
@@ -0,0 +1,27 @@
+package de.cronn.jira.sync.domain;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+public class JiraIssueBulkCreateRequest implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private List<JiraIssue> issueUpdates = new ArrayList<>();
+
+	public JiraIssueBulkCreateRequest() {
+	}
+
+	public JiraIssueBulkCreateRequest(List<JiraIssue> issueUpdates) {
+		this.issueUpdates = issueUpdates;
+	}
+
+	public List<JiraIssue> getIssueUpdates() {
+		return issueUpdates;
+	}
+
+	public void setIssueUpdates(List<JiraIssue> issueUpdates) {
+		this.issueUpdates = issueUpdates;
+	}
+}
@@ -0,0 +1,30 @@
+package de.cronn.jira.sync.domain;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+public class JiraIssueBulkCreateResponse implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private List<JiraIssue> issues = new ArrayList<>();
+
+	private List<JiraBulkOperationError> errors = new ArrayList<>();
+
+	public List<JiraIssue> getIssues() {
+		return issues;
+	}
+
+	public void setIssues(List<JiraIssue> issues) {
+		this.issues = issues;
+	}
+
+	public List<JiraBulkOperationError> getErrors() {
+		return errors;
+	}
+
+	public void setErrors(List<JiraBulkOperationError> errors) {
+		this.errors = errors;
+	}
+}
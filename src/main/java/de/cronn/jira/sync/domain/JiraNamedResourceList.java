@@ -0,0 +1,54 @@
+package de.cronn.jira.sync.domain;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * List of named resources with a lazily built index by name.
+ * The list must not be modified once the index was built.
+ */
+public class JiraNamedResourceList<T extends JiraNamedResource> extends ArrayList<T> {
+
+	private static final long serialVersionUID = 1L;
+
+	private transient volatile Map<String, T> resourcesByName;
+
+	public Map<String, T> getResourcesByName() {
+		Map<String, T> index = resourcesByName;
+		if (index == null) {
+			index = buildIndex(this);
+			resourcesByName = index;
+		}
+		return index;
+	}
+
+	public T findByName(String name) {
+		return getResourcesByName().get(name);
+	}
+
+	/**
+	 * @return the cached index if the resources are a {@link JiraNamedResourceList}, otherwise a newly built one
+	 */
+	public static <T extends JiraNamedResource> Map<String, T> indexByName(List<T> resources) {
+		if (resources instanceof JiraNamedResourceList) {
+			@SuppressWarnings("unchecked")
+			JiraNamedResourceList<T> resourceList = (JiraNamedResourceList<T>) resources;
+			return resourceList.getResourcesByName();
+		}
+		return buildIndex(resources);
+	}
+
+	private static <T extends JiraNamedResource> Map<String, T> buildIndex(List<T> resources) {
+		Map<String, T> index = new HashMap<>(resources.size() * 2);
+		for (T resource : resources) {
+			if (resource.getName() != null) {
+				index.putIfAbsent(resource.getName(), resource);
+			}
+		}
+		return Collections.unmodifiableMap(index);
+	}
+
+}
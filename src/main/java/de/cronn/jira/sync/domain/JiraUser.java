@@ -8,6 +8,7 @@ public class JiraUser extends JiraNamedResource {
 	private static final long serialVersionUID = 2L;
 
 	private String displayName;
+	private String timeZone;
 
 	public JiraUser() {
 	}
@@ -33,6 +34,14 @@ public class JiraUser extends JiraNamedResource {
 		this.displayName = displayName;
 	}
 
+	public String getTimeZone() {
+		return timeZone;
+	}
+
+	public void setTimeZone(String timeZone) {
+		this.timeZone = timeZone;
+	}
+
 	@Override
 	public String toString() {
 		return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
@@ -1,8 +1,6 @@
 package de.cronn.jira.sync.domain;
 
-import java.util.ArrayList;
-
-public class JiraVersionsList extends ArrayList<JiraVersion> {
+public class JiraVersionsList extends JiraNamedResourceList<JiraVersion> {
 
 	private static final long serialVersionUID = 1L;
 
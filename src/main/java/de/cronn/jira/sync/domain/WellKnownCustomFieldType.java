@@ -1,5 +1,8 @@
 package de.cronn.jira.sync.domain;
 
+import java.util.HashMap;
+import java.util.Map;
+
 public enum WellKnownCustomFieldType {
 
 	LABELS("com.atlassian.jira.plugin.system.customfieldtypes:labels"),
@@ -7,6 +10,14 @@ public enum WellKnownCustomFieldType {
 	SELECT("com.atlassian.jira.plugin.system.customfieldtypes:select"),
 	;
 
+	private static final Map<String, WellKnownCustomFieldType> BY_SCHEMA_TYPE = new HashMap<>();
+
+	static {
+		for (WellKnownCustomFieldType wellKnownCustomFieldType : values()) {
+			BY_SCHEMA_TYPE.put(wellKnownCustomFieldType.getSchemaType(), wellKnownCustomFieldType);
+		}
+	}
+
 	private final String schemaType;
 
 	WellKnownCustomFieldType(String schemaType) {
@@ -19,12 +30,18 @@ public enum WellKnownCustomFieldType {
 
 	public static WellKnownCustomFieldType getByCustomSchema(JiraFieldSchema fieldSchema) {
 		String customSchema = fieldSchema.getCustom();
-		for (WellKnownCustomFieldType wellKnownCustomFieldType : values()) {
-			if (wellKnownCustomFieldType.getSchemaType().equals(customSchema)) {
-				return wellKnownCustomFieldType;
-			}
+		WellKnownCustomFieldType wellKnownCustomFieldType = findByCustomSchemaType(customSchema);
+		if (wellKnownCustomFieldType == null) {
+			throw new IllegalArgumentException("Unknown schema: " + customSchema);
+		}
+		return wellKnownCustomFieldType;
+	}
+
+	public static WellKnownCustomFieldType findByCustomSchemaType(String customSchemaType) {
+		if (customSchemaType == null) {
+			return null;
 		}
-		throw new IllegalArgumentException("Unknown schema: " + customSchema);
+		return BY_SCHEMA_TYPE.get(customSchemaType);
 	}
 
 }
@@ -2,7 +2,9 @@ package de.cronn.jira.sync.dummy;
 
 import java.beans.PropertyDescriptor;
 import java.time.Clock;
+import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumMap;
@@ -14,6 +16,9 @@ import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.ArrayUtils;
@@ -24,6 +29,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
@@ -33,6 +39,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import de.cronn.jira.sync.config.Context;
+import de.cronn.jira.sync.domain.JiraBulkOperationError;
 import de.cronn.jira.sync.domain.JiraComment;
 import de.cronn.jira.sync.domain.JiraComments;
 import de.cronn.jira.sync.domain.JiraComponent;
@@ -41,6 +48,8 @@ import de.cronn.jira.sync.domain.JiraFieldsBean;
 import de.cronn.jira.sync.domain.JiraFieldsUpdate;
 import de.cronn.jira.sync.domain.JiraFilterResult;
 import de.cronn.jira.sync.domain.JiraIssue;
+import de.cronn.jira.sync.domain.JiraIssueBulkCreateRequest;
+import de.cronn.jira.sync.domain.JiraIssueBulkCreateResponse;
 import de.cronn.jira.sync.domain.JiraIssueFields;
 import de.cronn.jira.sync.domain.JiraIssueHistoryEntry;
 import de.cronn.jira.sync.domain.JiraIssueHistoryItem;
@@ -80,6 +89,11 @@ public class JiraDummyService {
 	private static final String PARAM_EXPAND = "expand";
 	static final String CHANGELOG = "changelog";
 
+	private static final Pattern UPDATED_SINCE_JQL_PATTERN = Pattern.compile("^\\((.+)\\) AND updated >= \"(\\d{4}/\\d{2}/\\d{2} \\d{2}:\\d{2})\"$");
+	private static final DateTimeFormatter JQL_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy/MM/dd HH:mm");
+	private static final String ORDER_BY_KEY = " ORDER BY key ASC";
+	private static final Pattern ISSUE_KEYS_JQL_PATTERN = Pattern.compile("^key in \\((.*)\\)$");
+
 	private final Map<Context, JiraDummyData> data = new EnumMap<>(Context.class);
 
 	private Clock clock;
@@ -189,15 +203,52 @@ public class JiraDummyService {
 	}
 
 	@RequestMapping(path = "/api/2/search", method = RequestMethod.GET)
-	public JiraSearchResult search(@PathVariable(CONTEXT) Context context, @RequestParam("jql") String jql) {
+	public JiraSearchResult search(@PathVariable(CONTEXT) Context context, @RequestParam("jql") String jql,
+								   @RequestParam(name = PARAM_EXPAND, required = false) String expand) {
+		JiraSearchResult result = search(context, jql);
+		if (!CHANGELOG.equals(expand)) {
+			result.setIssues(result.getIssues().stream()
+				.map(issue -> {
+					JiraIssue issueWithoutChangelog = SerializationUtils.clone(issue);
+					issueWithoutChangelog.setChangelog(null);
+					return issueWithoutChangelog;
+				})
+				.collect(Collectors.toList()));
+		}
+		return result;
+	}
+
+	private JiraSearchResult search(Context context, String jql) {
 		JiraSearchResult result = new JiraSearchResult();
 
+		Matcher issueKeysMatcher = ISSUE_KEYS_JQL_PATTERN.matcher(jql);
+		if (issueKeysMatcher.matches()) {
+			Set<String> issueKeys = StringUtils.commaDelimitedListToSet(StringUtils.trimAllWhitespace(issueKeysMatcher.group(1)));
+			List<JiraIssue> issues = getAllIssues(context).stream()
+				.filter(issue -> issueKeys.contains(issue.getKey()))
+				.collect(Collectors.toList());
+			result.setIssues(issues);
+			result.setMaxResults(issues.size());
+			result.setTotal(issues.size());
+			return result;
+		}
+
+		String filterId = jql.endsWith(ORDER_BY_KEY) ? jql.substring(0, jql.length() - ORDER_BY_KEY.length()) : jql;
+		Predicate<JiraIssue> updatedFilter = issue -> true;
+		Matcher updatedSinceMatcher = UPDATED_SINCE_JQL_PATTERN.matcher(filterId);
+		if (updatedSinceMatcher.matches()) {
+			filterId = updatedSinceMatcher.group(1);
+			ZonedDateTime updatedSince = LocalDateTime.parse(updatedSinceMatcher.group(2), JQL_DATE_FORMAT).atZone(clock.getZone());
+			updatedFilter = issue -> issue.getFields().getUpdated() != null && !issue.getFields().getUpdated().isBefore(updatedSince);
+		}
+
 		Map<String, JiraFilter> filters = getData(context).getFilters();
-		JiraFilter filter = filters.get(jql);
-		Assert.notNull(filter, "Filter " + jql + " not found");
+		JiraFilter filter = filters.get(filterId);
+		Assert.notNull(filter, "Filter " + filterId + " not found");
 
 		List<JiraIssue> allIssues = getAllIssues(context).stream()
 			.filter(filter::shouldInclude)
+			.filter(updatedFilter)
 			.collect(Collectors.toList());
 
 		result.setIssues(allIssues);
@@ -249,7 +300,9 @@ public class JiraDummyService {
 
 	@RequestMapping(path = "/api/2/myself", method = RequestMethod.GET)
 	public JiraUser getMyself(@PathVariable(CONTEXT) Context context) {
-		return new JiraUser("me", "myself", "my self");
+		JiraUser myself = new JiraUser("me", "myself", "my self");
+		myself.setTimeZone(clock.getZone().getId());
+		return myself;
 	}
 
 	@RequestMapping(path = "/api/2/user", method = RequestMethod.GET)
@@ -507,6 +560,30 @@ public class JiraDummyService {
 		return new ResponseEntity<>(issue, HttpStatus.OK);
 	}
 
+	@RequestMapping(path = "/api/2/issue/bulk", method = RequestMethod.POST)
+	public ResponseEntity<JiraIssueBulkCreateResponse> createIssues(@PathVariable(CONTEXT) Context context, @RequestBody JiraIssueBulkCreateRequest request) {
+		JiraIssueBulkCreateResponse response = new JiraIssueBulkCreateResponse();
+		List<JiraIssue> issueUpdates = request.getIssueUpdates();
+		for (int i = 0; i < issueUpdates.size(); i++) {
+			ResponseEntity<Object> result;
+			try {
+				result = createIssue(context, issueUpdates.get(i));
+			} catch (RuntimeException e) {
+				log.error("createIssue failed", e);
+				result = new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+			}
+			if (result.getStatusCode() == HttpStatus.OK) {
+				response.getIssues().add((JiraIssue) result.getBody());
+			} else {
+				Map<String, Object> elementErrors = new LinkedHashMap<>();
+				elementErrors.put("errorMessages", Collections.singletonList(result.getBody()));
+				response.getErrors().add(new JiraBulkOperationError(result.getStatusCode().value(), i, elementErrors));
+			}
+		}
+		HttpStatus status = response.getIssues().isEmpty() && !response.getErrors().isEmpty() ? HttpStatus.BAD_REQUEST : HttpStatus.CREATED;
+		return new ResponseEntity<>(response, status);
+	}
+
 	private void registerIssue(Context context, JiraIssue issue) {
 		String issueKey = issue.getKey();
 		Assert.hasText(issueKey, "issueKey must not be empty");
@@ -0,0 +1,63 @@
+package de.cronn.jira.sync.link;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import de.cronn.jira.sync.config.JiraSyncConfig;
+import de.cronn.jira.sync.service.JiraService;
+import de.cronn.jira.sync.store.FileKeyValueStore;
+import de.cronn.jira.sync.store.StateStore;
+
+@Component
+public class IssueLinkIndex extends StateStore {
+
+	private static final Logger log = LoggerFactory.getLogger(IssueLinkIndex.class);
+
+	static final String FILE_NAME = "issue-links";
+
+	private final JiraSyncConfig jiraSyncConfig;
+
+	public IssueLinkIndex(JiraSyncConfig jiraSyncConfig) {
+		super(jiraSyncConfig, FILE_NAME);
+		this.jiraSyncConfig = jiraSyncConfig;
+	}
+
+	public boolean isEnabled() {
+		return jiraSyncConfig.getLinkIndex().isEnabled();
+	}
+
+	public String getLinkedKey(String fromKey, JiraService fromJiraService, JiraService toJiraService) {
+		if (!isEnabled()) {
+			return null;
+		}
+		return getStore().get(createKey(fromKey, fromJiraService, toJiraService));
+	}
+
+	public void putLinkedKey(String fromKey, String toKey, JiraService fromJiraService, JiraService toJiraService) {
+		if (isEnabled()) {
+			getStore().put(createKey(fromKey, fromJiraService, toJiraService), toKey);
+		}
+	}
+
+	public void removeLinkedKey(String fromKey, JiraService fromJiraService, JiraService toJiraService) {
+		if (isEnabled()) {
+			getStore().remove(createKey(fromKey, fromJiraService, toJiraService));
+		}
+	}
+
+	private static String createKey(String fromKey, JiraService fromJiraService, JiraService toJiraService) {
+		return fromJiraService.getUrl() + " " + fromKey + " " + toJiraService.getUrl();
+	}
+
+	@Override
+	protected void opened(FileKeyValueStore store) {
+		if (jiraSyncConfig.getLinkIndex().isRebuild()) {
+			log.info("clearing issue link index with {} entries", store.size());
+			store.clear();
+		} else {
+			log.info("loaded issue link index with {} entries", store.size());
+		}
+	}
+
+}
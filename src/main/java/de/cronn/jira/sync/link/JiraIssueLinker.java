@@ -1,16 +1,24 @@
 package de.cronn.jira.sync.link;
 
 import java.net.URL;
+import java.util.concurrent.CompletableFuture;
 
 import de.cronn.jira.sync.domain.JiraIssue;
+import de.cronn.jira.sync.service.JiraIssueProjection;
 import de.cronn.jira.sync.service.JiraService;
 
 public interface JiraIssueLinker {
 
 	JiraIssue resolveIssue(JiraIssue fromIssue, JiraService fromJiraService, JiraService toJiraService);
 
+	JiraIssue resolveIssue(JiraIssue fromIssue, JiraService fromJiraService, JiraService toJiraService, JiraIssueProjection projection);
+
 	String resolveKey(JiraIssue fromIssue, JiraService fromJiraService, JiraService toJiraService);
 
 	void linkIssue(JiraIssue fromIssue, JiraIssue toIssue, JiraService fromJiraService, JiraService toJiraService, URL iconUrl);
 
+	default CompletableFuture<Void> linkIssueAsync(JiraIssue fromIssue, JiraIssue toIssue, JiraService fromJiraService, JiraService toJiraService, URL iconUrl) {
+		return CompletableFuture.runAsync(() -> linkIssue(fromIssue, toIssue, fromJiraService, toJiraService, iconUrl), Runnable::run);
+	}
+
 }
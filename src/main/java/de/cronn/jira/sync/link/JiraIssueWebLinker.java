@@ -4,6 +4,7 @@ import java.net.URL;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -16,6 +17,9 @@ import org.springframework.util.CollectionUtils;
 import de.cronn.jira.sync.JiraSyncException;
 import de.cronn.jira.sync.domain.JiraIssue;
 import de.cronn.jira.sync.domain.JiraRemoteLink;
+import de.cronn.jira.sync.service.AsyncJiraService;
+import de.cronn.jira.sync.service.JiraIssueProjection;
+import de.cronn.jira.sync.service.JiraResourceNotFoundException;
 import de.cronn.jira.sync.service.JiraService;
 
 @Service
@@ -23,27 +27,79 @@ public class JiraIssueWebLinker implements JiraIssueLinker {
 
 	private static final Logger log = LoggerFactory.getLogger(JiraIssueWebLinker.class);
 
+	private final IssueLinkIndex issueLinkIndex;
+
+	public JiraIssueWebLinker(IssueLinkIndex issueLinkIndex) {
+		this.issueLinkIndex = issueLinkIndex;
+	}
+
 	@Override
 	public JiraIssue resolveIssue(JiraIssue fromIssue, JiraService fromJiraService, JiraService toJiraService) {
+		return resolveIssue(fromIssue, fromJiraService, toJiraService, null);
+	}
+
+	@Override
+	public JiraIssue resolveIssue(JiraIssue fromIssue, JiraService fromJiraService, JiraService toJiraService, JiraIssueProjection projection) {
+		JiraIssue indexedIssue = resolveIndexedIssue(fromIssue, fromJiraService, toJiraService, projection);
+		if (indexedIssue != null) {
+			return indexedIssue;
+		}
 		String key = resolveKey(fromIssue, fromJiraService, toJiraService);
 		if (key == null) {
 			return null;
 		}
-		return resolveKey(toJiraService, key);
+		return resolveKey(toJiraService, key, projection);
 	}
 
 	@Override
 	public String resolveKey(JiraIssue fromIssue, JiraService fromJiraService, JiraService toJiraService) {
+		String indexedKey = getIndexedKey(fromIssue, fromJiraService, toJiraService);
+		if (indexedKey != null) {
+			return indexedKey;
+		}
 		List<String> keys = resolveKeys(fromIssue, fromJiraService, toJiraService);
 		if (CollectionUtils.isEmpty(keys)) {
 			return null;
 		} else if (keys.size() > 1) {
 			throw new JiraSyncException("Illegal number of linked issues for " + fromIssue + ": " + keys);
 		} else {
-			return keys.get(0);
+			String key = keys.get(0);
+			updateIndex(fromIssue, key, fromJiraService, toJiraService);
+			return key;
 		}
 	}
 
+	private JiraIssue resolveIndexedIssue(JiraIssue fromIssue, JiraService fromJiraService, JiraService toJiraService, JiraIssueProjection projection) {
+		String indexedKey = getIndexedKey(fromIssue, fromJiraService, toJiraService);
+		if (indexedKey == null) {
+			return null;
+		}
+		JiraIssue issue;
+		try {
+			issue = getIssueByKey(toJiraService, indexedKey, projection);
+		} catch (JiraResourceNotFoundException e) {
+			log.warn("{}: indexed key '{}' not found in {}, falling back to remote links", fromIssue, indexedKey, toJiraService, e);
+			issue = null;
+		}
+		if (issue == null) {
+			issueLinkIndex.removeLinkedKey(fromIssue.getKey(), fromJiraService, toJiraService);
+			return null;
+		}
+		if (!indexedKey.equals(issue.getKey())) {
+			log.debug("{}: indexed issue {} was moved to {}", fromIssue, indexedKey, issue.getKey());
+			updateIndex(fromIssue, issue.getKey(), fromJiraService, toJiraService);
+		}
+		return issue;
+	}
+
+	private String getIndexedKey(JiraIssue fromIssue, JiraService fromJiraService, JiraService toJiraService) {
+		return issueLinkIndex.getLinkedKey(fromIssue.getKey(), fromJiraService, toJiraService);
+	}
+
+	private void updateIndex(JiraIssue fromIssue, String toKey, JiraService fromJiraService, JiraService toJiraService) {
+		issueLinkIndex.putLinkedKey(fromIssue.getKey(), toKey, fromJiraService, toJiraService);
+	}
+
 	private List<String> resolveKeys(JiraIssue fromIssue, JiraService fromJiraService, JiraService toJiraService) {
 		try {
 			Instant issueUpdated = fromIssue.getFields().getUpdated().toInstant();
@@ -75,11 +131,11 @@ public class JiraIssueWebLinker implements JiraIssueLinker {
 		return Pattern.compile("^" + Pattern.quote(baseUrl) + "/+browse/([A-Z_]+-\\d+)$");
 	}
 
-	private JiraIssue resolveKey(JiraService toJiraService, String key) {
+	private JiraIssue resolveKey(JiraService toJiraService, String key, JiraIssueProjection projection) {
 		Assert.hasText(key, "key must not be empty");
 		final JiraIssue issue;
 		try {
-			issue = toJiraService.getIssueByKey(key);
+			issue = getIssueByKey(toJiraService, key, projection);
 		} catch (RuntimeException e) {
 			throw new JiraSyncException("Failed to resolve '" + key + "' in " + toJiraService, e);
 		}
@@ -89,8 +145,22 @@ public class JiraIssueWebLinker implements JiraIssueLinker {
 		return issue;
 	}
 
+	private static JiraIssue getIssueByKey(JiraService jiraService, String key, JiraIssueProjection projection) {
+		if (projection == null) {
+			return jiraService.getIssueByKey(key);
+		}
+		return jiraService.getIssueByKey(key, projection);
+	}
+
 	@Override
 	public void linkIssue(JiraIssue fromIssue, JiraIssue toIssue, JiraService fromJiraService, JiraService toJiraService, URL iconUrl) {
 		fromJiraService.addRemoteLink(fromIssue, toIssue, toJiraService, iconUrl);
+		updateIndex(fromIssue, toIssue.getKey(), fromJiraService, toJiraService);
+	}
+
+	@Override
+	public CompletableFuture<Void> linkIssueAsync(JiraIssue fromIssue, JiraIssue toIssue, JiraService fromJiraService, JiraService toJiraService, URL iconUrl) {
+		return AsyncJiraService.of(fromJiraService).addRemoteLink(fromIssue, toIssue, toJiraService, iconUrl)
+			.thenRun(() -> updateIndex(fromIssue, toIssue.getKey(), fromJiraService, toJiraService));
 	}
 }
@@ -1,5 +1,7 @@
 package de.cronn.jira.sync.mapping;
 
+import java.util.Set;
+
 import de.cronn.jira.sync.domain.JiraComment;
 import de.cronn.jira.sync.domain.JiraIssue;
 import de.cronn.jira.sync.service.JiraService;
@@ -10,6 +12,11 @@ public interface CommentMapper {
 
 	boolean isMapped(JiraComment commentInSource, String commentInTargetBody);
 
+	/**
+	 * @return the ids of all source comments whose signature is contained in the given target comment body
+	 */
+	Set<String> getMappedCommentIds(String commentInTargetBody);
+
 	boolean wasAddedBehindTime(JiraComment comment);
 
 }
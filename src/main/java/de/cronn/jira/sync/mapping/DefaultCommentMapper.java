@@ -3,7 +3,11 @@ package de.cronn.jira.sync.mapping;
 import java.time.Clock;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,6 +28,10 @@ public class DefaultCommentMapper implements CommentMapper {
 	private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss z", Locale.ENGLISH);
 	private static final String THIS_COMMENT_WAS_ADDED_BEHIND_TIME = "This comment was added behind time";
 
+	private static final String PANEL_START = "{panel:title=";
+	private static final String SIGNATURE_END = "]??~";
+	private static final Pattern SIGNATURE_START_PATTERN = Pattern.compile(Pattern.quote("~??[comment ") + "([^|\\n\\r\\u0085\\u2028\\u2029]+)\\|");
+
 	private Clock clock;
 
 	private UsernameReplacer usernameReplacer;
@@ -60,8 +68,8 @@ public class DefaultCommentMapper implements CommentMapper {
 		String sourceKey = getIssueKey(sourceIssue);
 		String commentText = usernameReplacer.replaceUsernames(comment.getBody(), jiraSource);
 		commentText = ticketReferenceReplacer.replaceTicketReferences(commentText, jiraSource);
-		String signature = "~??[comment " + originalCommentId + "|" + buildCommentLink(jiraSource, originalCommentId, sourceKey) + "]??~";
-		return "{panel:title=" + author + " - " + dateString + "|" + getPanelColors(behindTime) + "}\n" +
+		String signature = "~??[comment " + originalCommentId + "|" + buildCommentLink(jiraSource, originalCommentId, sourceKey) + SIGNATURE_END;
+		return PANEL_START + author + " - " + dateString + "|" + getPanelColors(behindTime) + "}\n" +
 			   commentText + "\n" +
 			   signature + "\n" +
 			   (behindTime ? "~(!) " + THIS_COMMENT_WAS_ADDED_BEHIND_TIME + ". The order of comments might not represent the real order.~\n" : "") +
@@ -92,15 +100,43 @@ public class DefaultCommentMapper implements CommentMapper {
 	public boolean isMapped(JiraComment commentInSource, String commentTextInTarget) {
 		String sourceCommentId = commentInSource.getId();
 		Assert.hasText(sourceCommentId, "sourceCommentId must not be empty");
-		if (commentTextInTarget.startsWith("{panel:title=")) {
-			String signatureStart = Pattern.quote("~??[comment " + sourceCommentId + "|");
-			String middle = Pattern.quote("focusedCommentId=" + sourceCommentId + "&");
-			String signatureEnd = Pattern.quote("]??~");
-			Pattern signaturePattern = Pattern.compile(signatureStart + ".+" + middle + ".+" + signatureEnd);
-			return signaturePattern.matcher(commentTextInTarget).find();
-		} else {
+		return getMappedCommentIds(commentTextInTarget).contains(sourceCommentId);
+	}
+
+	@Override
+	public Set<String> getMappedCommentIds(String commentTextInTarget) {
+		if (!commentTextInTarget.startsWith(PANEL_START)) {
+			return Collections.emptySet();
+		}
+		Set<String> commentIds = new LinkedHashSet<>();
+		Matcher matcher = SIGNATURE_START_PATTERN.matcher(commentTextInTarget);
+		int searchStart = 0;
+		while (matcher.find(searchStart)) {
+			String commentId = matcher.group(1);
+			if (hasSignatureLink(commentTextInTarget, matcher.end(), commentId)) {
+				commentIds.add(commentId);
+			}
+			searchStart = matcher.start() + 1;
+		}
+		return commentIds;
+	}
+
+	private static boolean hasSignatureLink(String commentText, int linkStart, String commentId) {
+		int lineEnd = linkStart;
+		while (lineEnd < commentText.length() && !isLineTerminator(commentText.charAt(lineEnd))) {
+			lineEnd++;
+		}
+		String link = commentText.substring(linkStart, lineEnd);
+		String focusedComment = "focusedCommentId=" + commentId + "&";
+		int focusedCommentIndex = link.indexOf(focusedComment, 1);
+		if (focusedCommentIndex < 0) {
 			return false;
 		}
+		return link.lastIndexOf(SIGNATURE_END) > focusedCommentIndex + focusedComment.length();
+	}
+
+	private static boolean isLineTerminator(char c) {
+		return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
 	}
 
 	private String buildCommentLink(JiraService jiraSource, String originalCommentId, String sourceKey) {
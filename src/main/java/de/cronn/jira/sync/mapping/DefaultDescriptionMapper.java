@@ -1,8 +1,5 @@
 package de.cronn.jira.sync.mapping;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
@@ -17,9 +14,6 @@ import de.cronn.jira.sync.service.JiraService;
 @Component
 public class DefaultDescriptionMapper implements DescriptionMapper {
 
-	private static final Pattern PANEL_PATTERN = Pattern.compile("\\{panel[^\\\\}]*\\}.*?\\{panel\\}\\s*", Pattern.DOTALL);
-	private static final Pattern PANEL_START_PATTERN = Pattern.compile("\\{(panel[^\\\\}]*)\\}");
-
 	private UsernameReplacer usernameReplacer;
 	private TicketReferenceReplacer ticketReferenceReplacer;
 	private JiraSyncConfig jiraSyncConfig;
@@ -63,7 +57,7 @@ public class DefaultDescriptionMapper implements DescriptionMapper {
 		if (description == null) {
 			return null;
 		}
-		return description.replaceAll("\\r\\n", "\n").trim();
+		return StringUtils.replace(description, "\r\n", "\n").trim();
 	}
 
 	public String mapSourceDescription(String sourceDescription, JiraService jiraSource) {
@@ -73,7 +67,7 @@ public class DefaultDescriptionMapper implements DescriptionMapper {
 			String description = usernameReplacer.replaceUsernames(sourceDescription, jiraSource);
 			description = ticketReferenceReplacer.replaceTicketReferences(description, jiraSource);
 			String normalizedSourceDescription = normalizeDescription(description);
-			String escapedSourceDescription = PANEL_START_PATTERN.matcher(normalizedSourceDescription).replaceAll("\\\\{$1\\\\}");
+			String escapedSourceDescription = WikiPanelParser.escapePanelTags(normalizedSourceDescription);
 			DescriptionMappingConfig descriptionMapping = jiraSyncConfig.getDescriptionMapping();
 			String titleBackgroundColor = descriptionMapping.getPanelTitleBackgroundColor();
 			String backgroundColor = descriptionMapping.getPanelBackgroundColor();
@@ -96,11 +90,14 @@ public class DefaultDescriptionMapper implements DescriptionMapper {
 			sourceDescription = "";
 		}
 
-		targetDescription = targetDescription.replaceFirst(Pattern.quote(sourceDescription), "");
-		Matcher panelMatcher = PANEL_PATTERN.matcher(targetDescription);
+		int sourceDescriptionIndex = targetDescription.indexOf(sourceDescription);
+		if (sourceDescriptionIndex >= 0) {
+			targetDescription = targetDescription.substring(0, sourceDescriptionIndex) + targetDescription.substring(sourceDescriptionIndex + sourceDescription.length());
+		}
+		WikiPanelParser.Panel panel = WikiPanelParser.findFirstPanel(targetDescription);
 		String mappedSourceDescription = mapSourceDescription(sourceDescription, jiraSource);
-		if (panelMatcher.find()) {
-			targetDescription = panelMatcher.replaceFirst(Matcher.quoteReplacement(mappedSourceDescription));
+		if (panel != null) {
+			targetDescription = panel.replaceIn(targetDescription, mappedSourceDescription);
 		} else {
 			targetDescription = mappedSourceDescription + targetDescription;
 		}
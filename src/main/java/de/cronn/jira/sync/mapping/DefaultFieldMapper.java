@@ -70,7 +70,7 @@ public class DefaultFieldMapper implements FieldMapper {
 	}
 
 	private Object mapCustomFieldValue(JiraField fromField, JiraField toField, Object sourceValue, JiraService toJira, JiraProject toProject) {
-		WellKnownCustomFieldType toFieldSchemaType = WellKnownCustomFieldType.getByCustomSchema(toField.getSchema());
+		WellKnownCustomFieldType toFieldSchemaType = toJira.getCustomFieldType(toField);
 		WellKnownCustomFieldType fromFieldSchemaType = WellKnownCustomFieldType.getByCustomSchema(fromField.getSchema());
 
 		if (!Objects.equals(fromFieldSchemaType, toFieldSchemaType)) {
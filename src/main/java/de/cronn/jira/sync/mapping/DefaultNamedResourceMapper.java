@@ -5,7 +5,6 @@ import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
 import java.util.function.Supplier;
 
@@ -15,6 +14,7 @@ import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 
 import de.cronn.jira.sync.domain.JiraNamedResource;
+import de.cronn.jira.sync.domain.JiraNamedResourceList;
 
 public final class DefaultNamedResourceMapper {
 
@@ -38,10 +38,11 @@ public final class DefaultNamedResourceMapper {
 
 
 		List<T> targetResources = targetResourceSupplier.get();
+		Map<String, T> targetResourcesByName = JiraNamedResourceList.indexByName(targetResources);
 
 		Set<T> mappedResources = new LinkedHashSet<>();
 		for (T resourceToMap : resourcesToMap) {
-			T mappedResource = map(resourceToMap, resourceNamesToIgnore, targetResources, nameMapping);
+			T mappedResource = map(resourceToMap, resourceNamesToIgnore, targetResources, targetResourcesByName, nameMapping);
 			if (mappedResource != null) {
 				log.trace("Mapping resource: {} --> {}", resourceToMap, mappedResource);
 				mappedResources.add(mappedResource);
@@ -52,7 +53,8 @@ public final class DefaultNamedResourceMapper {
 	}
 
 	private static <T extends JiraNamedResource> T map(T resourceToMap, Set<String> resourceNamesToIgnore,
-													   List<T> targetResources, Map<String, String> nameMapping) {
+													   List<T> targetResources, Map<String, T> targetResourcesByName,
+													   Map<String, String> nameMapping) {
 		String resourceName = resourceToMap.getName();
 		Assert.notNull(resourceName, "Resource name not set: " + resourceToMap);
 
@@ -67,10 +69,7 @@ public final class DefaultNamedResourceMapper {
 			return null;
 		}
 
-		T mappedResource = targetResources.stream()
-			.filter(resource -> Objects.equals(resource.getName(), mappedResourceName))
-			.findFirst()
-			.orElse(null);
+		T mappedResource = targetResourcesByName.get(mappedResourceName);
 
 		if (mappedResource == null) {
 			log.warn("Resource '{}' not found in {}", mappedResourceName, targetResources);
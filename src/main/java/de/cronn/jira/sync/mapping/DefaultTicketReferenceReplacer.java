@@ -1,40 +1,36 @@
 package de.cronn.jira.sync.mapping;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Component;
 
+import de.cronn.jira.sync.domain.JiraProject;
 import de.cronn.jira.sync.service.JiraService;
 
 @Component
 public class DefaultTicketReferenceReplacer implements TicketReferenceReplacer {
 
-	private static final String SEP = "\\s|[:?!…;\\.]";
+	private final Map<List<String>, TicketReferenceMatcher> matchers = new ConcurrentHashMap<>();
 
 	@Override
 	public String replaceTicketReferences(String inputText, JiraService jiraService) {
 		if (StringUtils.isBlank(inputText)) {
 			return inputText;
 		}
-		StringBuffer sb = new StringBuffer();
-		Pattern pattern = Pattern.compile("(?<=(?:" + SEP + "|^))" + "(" + buildProjectsPattern(jiraService) + "-\\d+)" + "(?=(?:" + SEP + "|$))");
-		Matcher matcher = pattern.matcher(inputText);
-		while (matcher.find()) {
-			String issueKey = matcher.group(1);
-			String issueLink = buildUserLink(jiraService, issueKey);
-			matcher.appendReplacement(sb, "[" + issueKey + "|" + issueLink + "]");
-		}
-		matcher.appendTail(sb);
-		return sb.toString();
+		TicketReferenceMatcher matcher = getMatcher(jiraService);
+		return matcher.replaceAll(inputText, issueKey -> "[" + issueKey + "|" + buildUserLink(jiraService, issueKey) + "]");
 	}
 
-	private String buildProjectsPattern(JiraService jiraService) {
-		return "(" + jiraService.getProjects().stream()
-			.map(project -> Pattern.quote(project.getKey()))
-			.collect(Collectors.joining("|")) + ")";
+	private TicketReferenceMatcher getMatcher(JiraService jiraService) {
+		List<String> projectKeys = jiraService.getProjects().stream()
+			.map(JiraProject::getKey)
+			.collect(Collectors.collectingAndThen(Collectors.toList(), Collections::unmodifiableList));
+		return matchers.computeIfAbsent(projectKeys, TicketReferenceMatcher::new);
 	}
 
 	private String buildUserLink(JiraService jiraService, String issueKey) {
@@ -1,8 +1,12 @@
 package de.cronn.jira.sync.mapping;
 
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import de.cronn.jira.sync.domain.JiraUser;
@@ -13,6 +17,13 @@ public class DefaultUsernameReplacer implements UsernameReplacer {
 
 	private static final Pattern USERNAME_PATTERN = Pattern.compile("\\[~([a-zA-Z0-9_.-]+)\\]");
 
+	private JiraUserDirectory userDirectory;
+
+	@Autowired
+	public void setUserDirectory(JiraUserDirectory userDirectory) {
+		this.userDirectory = userDirectory;
+	}
+
 	@Override
 	public String replaceUsernames(String inputText, JiraService jiraService) {
 		if (inputText == null) {
@@ -22,7 +33,7 @@ public class DefaultUsernameReplacer implements UsernameReplacer {
 		Matcher matcher = USERNAME_PATTERN.matcher(inputText);
 		while (matcher.find()) {
 			String username = matcher.group(1);
-			JiraUser jiraUser = jiraService.getUserByName(username);
+			JiraUser jiraUser = getUserByName(jiraService, username);
 			if (jiraUser != null) {
 				String userLink = buildUserLink(jiraService, username);
 				matcher.appendReplacement(sb, "[" + jiraUser.getDisplayName() + "|" + userLink + "]");
@@ -32,6 +43,25 @@ public class DefaultUsernameReplacer implements UsernameReplacer {
 		return sb.toString();
 	}
 
+	static Set<String> findUsernames(String text) {
+		if (text == null) {
+			return Collections.emptySet();
+		}
+		Set<String> usernames = new LinkedHashSet<>();
+		Matcher matcher = USERNAME_PATTERN.matcher(text);
+		while (matcher.find()) {
+			usernames.add(matcher.group(1));
+		}
+		return usernames;
+	}
+
+	private JiraUser getUserByName(JiraService jiraService, String username) {
+		if (userDirectory == null) {
+			return jiraService.getUserByName(username);
+		}
+		return userDirectory.getUserByName(jiraService, username);
+	}
+
 	private String buildUserLink(JiraService jiraService, String username) {
 		String baseUrl = jiraService.getServerInfo().getBaseUrl();
 		return baseUrl + (baseUrl.endsWith("/") ? "" : "/") + "secure/ViewProfile.jspa?name=" + username;
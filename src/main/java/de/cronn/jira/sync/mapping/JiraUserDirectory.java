@@ -0,0 +1,112 @@
+package de.cronn.jira.sync.mapping;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import de.cronn.jira.sync.config.JiraSyncConfig;
+import de.cronn.jira.sync.domain.JiraComment;
+import de.cronn.jira.sync.domain.JiraComments;
+import de.cronn.jira.sync.domain.JiraIssue;
+import de.cronn.jira.sync.domain.JiraUser;
+import de.cronn.jira.sync.service.JiraService;
+
+/**
+ * Run-scoped LRU directory of users by name, including negative entries for unknown users.
+ */
+@Component
+public class JiraUserDirectory {
+
+	private static final Logger log = LoggerFactory.getLogger(JiraUserDirectory.class);
+
+	private final JiraSyncConfig jiraSyncConfig;
+
+	private final Map<String, Optional<JiraUser>> users = new LinkedHashMap<String, Optional<JiraUser>>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Optional<JiraUser>> eldest) {
+			return size() > jiraSyncConfig.getUserDirectorySize();
+		}
+	};
+
+	public JiraUserDirectory(JiraSyncConfig jiraSyncConfig) {
+		this.jiraSyncConfig = jiraSyncConfig;
+	}
+
+	public JiraUser getUserByName(JiraService jiraService, String username) {
+		String key = createKey(jiraService, username);
+		Optional<JiraUser> user = get(key);
+		if (user == null) {
+			user = Optional.ofNullable(jiraService.getUserByName(username));
+			put(key, user);
+		}
+		return user.orElse(null);
+	}
+
+	public void putUser(JiraService jiraService, String username, JiraUser user) {
+		put(createKey(jiraService, username), Optional.ofNullable(user));
+	}
+
+	/**
+	 * @return the names of users that are mentioned in the descriptions or comments of the given issues but not yet known
+	 */
+	public Set<String> getUnknownMentionedUsernames(JiraService jiraService, Collection<JiraIssue> issues) {
+		Set<String> usernames = new LinkedHashSet<>();
+		for (JiraIssue issue : issues) {
+			if (issue.getFields() == null) {
+				continue;
+			}
+			usernames.addAll(DefaultUsernameReplacer.findUsernames(issue.getFields().getDescription()));
+			JiraComments comments = issue.getFields().getComment();
+			if (comments != null && comments.getComments() != null) {
+				for (JiraComment comment : comments.getComments()) {
+					usernames.addAll(DefaultUsernameReplacer.findUsernames(comment.getBody()));
+				}
+			}
+		}
+		synchronized (users) {
+			usernames.removeIf(username -> users.containsKey(createKey(jiraService, username)));
+		}
+		return usernames;
+	}
+
+	public void clear() {
+		synchronized (users) {
+			log.debug("clearing {} users", users.size());
+			users.clear();
+		}
+	}
+
+	int size() {
+		synchronized (users) {
+			return users.size();
+		}
+	}
+
+	private Optional<JiraUser> get(String key) {
+		synchronized (users) {
+			return users.get(key);
+		}
+	}
+
+	private void put(String key, Optional<JiraUser> user) {
+		synchronized (users) {
+			users.put(key, user);
+		}
+	}
+
+	private static String createKey(JiraService jiraService, String username) {
+		Assert.hasText(username, "username must not be empty");
+		return jiraService.getUrl() + " " + username;
+	}
+
+}
@@ -0,0 +1,127 @@
+package de.cronn.jira.sync.mapping;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.springframework.util.Assert;
+
+/**
+ * Finds ticket references like {@code PROJECT-123} with a trie over the project keys.
+ * A reference must be preceded by the start of the text or a separator and followed by a separator or the end of the text.
+ */
+final class TicketReferenceMatcher {
+
+	private final Node root = new Node();
+
+	TicketReferenceMatcher(List<String> projectKeys) {
+		for (String projectKey : projectKeys) {
+			Assert.hasText(projectKey, "projectKey must not be empty");
+			Node node = root;
+			for (int i = 0; i < projectKey.length(); i++) {
+				node = node.children.computeIfAbsent(projectKey.charAt(i), c -> new Node());
+			}
+			node.projectKey = true;
+		}
+	}
+
+	String replaceAll(String text, Function<String, String> replacement) {
+		StringBuilder result = null;
+		int copiedUntil = 0;
+		int position = 0;
+		while (position < text.length()) {
+			int end = -1;
+			if (position == 0 || isSeparator(text.charAt(position - 1))) {
+				end = findTicketReferenceEnd(text, position);
+			}
+			if (end < 0) {
+				position++;
+				continue;
+			}
+			if (result == null) {
+				result = new StringBuilder(text.length() + 64);
+			}
+			result.append(text, copiedUntil, position);
+			result.append(replacement.apply(text.substring(position, end)));
+			copiedUntil = end;
+			position = end;
+		}
+		if (result == null) {
+			return text;
+		}
+		result.append(text, copiedUntil, text.length());
+		return result.toString();
+	}
+
+	private int findTicketReferenceEnd(String text, int start) {
+		Node node = root;
+		for (int position = start; position < text.length(); position++) {
+			char c = text.charAt(position);
+			if (c == '-' && node.projectKey) {
+				int end = findIssueNumberEnd(text, position + 1);
+				if (end >= 0) {
+					return end;
+				}
+			}
+			node = node.children.get(c);
+			if (node == null) {
+				return -1;
+			}
+		}
+		return -1;
+	}
+
+	private static int findIssueNumberEnd(String text, int start) {
+		int end = start;
+		while (end < text.length() && isDigit(text.charAt(end))) {
+			end++;
+		}
+		if (end == start) {
+			return -1;
+		}
+		if (end == text.length() || isSeparator(text.charAt(end)) || isFinalLineTerminator(text, end)) {
+			return end;
+		}
+		return -1;
+	}
+
+	private static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+
+	private static boolean isSeparator(char c) {
+		switch (c) {
+			case ' ':
+			case '\t':
+			case '\n':
+			case '\u000B':
+			case '\f':
+			case '\r':
+			case ':':
+			case '?':
+			case '!':
+			case '…':
+			case ';':
+			case '.':
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	private static boolean isFinalLineTerminator(String text, int position) {
+		int remaining = text.length() - position;
+		if (remaining == 1) {
+			char c = text.charAt(position);
+			return c == '\u0085' || c == '\u2028' || c == '\u2029';
+		}
+		return false;
+	}
+
+	private static final class Node {
+		private final Map<Character, Node> children = new HashMap<>();
+		private boolean projectKey;
+	}
+
+}
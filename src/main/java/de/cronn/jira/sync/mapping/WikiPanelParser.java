@@ -0,0 +1,121 @@
+package de.cronn.jira.sync.mapping;
+
+/**
+ * Single-pass tokenizer for panel blocks of the Jira wiki markup.
+ * A panel tag starts with an opening brace and "panel", followed by any characters except backslash and closing brace,
+ * and ends with a closing brace.
+ */
+final class WikiPanelParser {
+
+	private static final String PANEL_TAG_START = "{panel";
+	private static final String PANEL_END_TAG = "{panel}";
+
+	private WikiPanelParser() {
+	}
+
+	/**
+	 * @return the range of the first panel including the whitespace that follows its end tag, or {@code null} if there is none
+	 */
+	static Panel findFirstPanel(String text) {
+		int position = 0;
+		while (true) {
+			int start = text.indexOf(PANEL_TAG_START, position);
+			if (start < 0) {
+				return null;
+			}
+			int tagEnd = findTagEnd(text, start);
+			if (tagEnd < 0) {
+				return null;
+			}
+			if (text.charAt(tagEnd) == '}') {
+				int endTagStart = text.indexOf(PANEL_END_TAG, tagEnd + 1);
+				if (endTagStart < 0) {
+					return null;
+				}
+				int end = endTagStart + PANEL_END_TAG.length();
+				while (end < text.length() && isWhitespace(text.charAt(end))) {
+					end++;
+				}
+				return new Panel(start, end);
+			}
+			position = tagEnd + 1;
+		}
+	}
+
+	/**
+	 * Escapes the braces of all panel tags with a backslash.
+	 */
+	static String escapePanelTags(String text) {
+		StringBuilder result = null;
+		int copiedUntil = 0;
+		int position = 0;
+		while (true) {
+			int start = text.indexOf(PANEL_TAG_START, position);
+			if (start < 0) {
+				break;
+			}
+			int tagEnd = findTagEnd(text, start);
+			if (tagEnd < 0) {
+				break;
+			}
+			if (text.charAt(tagEnd) == '}') {
+				if (result == null) {
+					result = new StringBuilder(text.length() + 16);
+				}
+				result.append(text, copiedUntil, start)
+					.append("\\{")
+					.append(text, start + 1, tagEnd)
+					.append("\\}");
+				copiedUntil = tagEnd + 1;
+			}
+			position = tagEnd + 1;
+		}
+		if (result == null) {
+			return text;
+		}
+		result.append(text, copiedUntil, text.length());
+		return result.toString();
+	}
+
+	/**
+	 * @return the index of the closing brace that terminates the tag or of the backslash that invalidates it, or -1 if the text ends before
+	 */
+	private static int findTagEnd(String text, int tagStart) {
+		for (int i = tagStart + PANEL_TAG_START.length(); i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (c == '}' || c == '\\') {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static boolean isWhitespace(char c) {
+		return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+	}
+
+	static final class Panel {
+
+		private final int start;
+		private final int end;
+
+		private Panel(int start, int end) {
+			this.start = start;
+			this.end = end;
+		}
+
+		int getStart() {
+			return start;
+		}
+
+		int getEnd() {
+			return end;
+		}
+
+		String replaceIn(String text, String replacement) {
+			return text.substring(0, start) + replacement + text.substring(end);
+		}
+
+	}
+
+}
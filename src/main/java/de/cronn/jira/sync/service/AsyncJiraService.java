@@ -0,0 +1,68 @@
+package de.cronn.jira.sync.service;
+
+import java.net.URL;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import de.cronn.jira.sync.domain.JiraChangeLog;
+import de.cronn.jira.sync.domain.JiraComment;
+import de.cronn.jira.sync.domain.JiraIssue;
+import de.cronn.jira.sync.domain.JiraIssueUpdate;
+import de.cronn.jira.sync.domain.JiraRemoteLink;
+
+/**
+ * Future based variants of the {@link JiraService} calls that strategies may want to issue independently of each other.
+ * <p>
+ * The calls are not asynchronous on the wire: they run on the blocking client in the executor of the current login
+ * (see {@code maxConcurrentAsyncRequests}), so every call in flight still occupies one of its threads.
+ * Logging out waits for calls that are still running before the state of the login is cleared.
+ */
+public interface AsyncJiraService {
+
+	static AsyncJiraService of(JiraService jiraService) {
+		return new ExecutorAsyncJiraService(jiraService, jiraService.getAsyncExecutor());
+	}
+
+	/**
+	 * Waits for the future and rethrows the original exception if it completed exceptionally.
+	 */
+	static <T> T join(CompletableFuture<T> future) {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			if (e.getCause() instanceof Error) {
+				throw (Error) e.getCause();
+			}
+			throw e;
+		}
+	}
+
+	CompletableFuture<JiraIssue> getIssueByKey(String key, JiraIssueProjection projection);
+
+	CompletableFuture<JiraIssue> getIssueByKeyWithChangelog(String issueKey);
+
+	CompletableFuture<List<JiraIssue>> getIssuesByKeys(Collection<String> keys, JiraIssueProjection projection);
+
+	CompletableFuture<JiraChangeLog> getChangelog(String issueKey, Instant issueUpdated);
+
+	CompletableFuture<List<JiraRemoteLink>> getRemoteLinks(String issueKey, Instant ifModifiedSince);
+
+	CompletableFuture<Void> addRemoteLink(JiraIssue fromIssue, JiraIssue toIssue, JiraService toJiraService, URL remoteLinkIcon);
+
+	CompletableFuture<JiraComment> addComment(String issueKey, String commentText);
+
+	CompletableFuture<Void> updateComment(String issueKey, String commentId, String commentText);
+
+	CompletableFuture<JiraIssue> createIssue(JiraIssue issue);
+
+	CompletableFuture<Void> updateIssue(String issueKey, JiraIssueUpdate issueUpdate);
+
+	CompletableFuture<Void> transitionIssue(String issueKey, JiraIssueUpdate issueUpdate);
+
+}
@@ -0,0 +1,90 @@
+package de.cronn.jira.sync.service;
+
+import java.net.URL;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import org.springframework.util.Assert;
+
+import de.cronn.jira.sync.domain.JiraChangeLog;
+import de.cronn.jira.sync.domain.JiraComment;
+import de.cronn.jira.sync.domain.JiraIssue;
+import de.cronn.jira.sync.domain.JiraIssueUpdate;
+import de.cronn.jira.sync.domain.JiraRemoteLink;
+
+/**
+ * Runs the blocking calls of a {@link JiraService} on the given executor.
+ * The service must be the Spring bean rather than the bare implementation, so that cached methods stay cached.
+ */
+class ExecutorAsyncJiraService implements AsyncJiraService {
+
+	private static final Executor DIRECT_EXECUTOR = Runnable::run;
+
+	private final JiraService jiraService;
+	private final Executor executor;
+
+	ExecutorAsyncJiraService(JiraService jiraService, Executor executor) {
+		Assert.notNull(jiraService, "jiraService must not be null");
+		this.jiraService = jiraService;
+		this.executor = executor != null ? executor : DIRECT_EXECUTOR;
+	}
+
+	@Override
+	public CompletableFuture<JiraIssue> getIssueByKey(String key, JiraIssueProjection projection) {
+		return CompletableFuture.supplyAsync(() -> jiraService.getIssueByKey(key, projection), executor);
+	}
+
+	@Override
+	public CompletableFuture<JiraIssue> getIssueByKeyWithChangelog(String issueKey) {
+		return CompletableFuture.supplyAsync(() -> jiraService.getIssueByKeyWithChangelog(issueKey), executor);
+	}
+
+	@Override
+	public CompletableFuture<List<JiraIssue>> getIssuesByKeys(Collection<String> keys, JiraIssueProjection projection) {
+		return CompletableFuture.supplyAsync(() -> jiraService.getIssuesByKeys(keys, projection), executor);
+	}
+
+	@Override
+	public CompletableFuture<JiraChangeLog> getChangelog(String issueKey, Instant issueUpdated) {
+		return CompletableFuture.supplyAsync(() -> jiraService.getChangelog(issueKey, issueUpdated), executor);
+	}
+
+	@Override
+	public CompletableFuture<List<JiraRemoteLink>> getRemoteLinks(String issueKey, Instant ifModifiedSince) {
+		return CompletableFuture.supplyAsync(() -> jiraService.getRemoteLinks(issueKey, ifModifiedSince), executor);
+	}
+
+	@Override
+	public CompletableFuture<Void> addRemoteLink(JiraIssue fromIssue, JiraIssue toIssue, JiraService toJiraService, URL remoteLinkIcon) {
+		return CompletableFuture.runAsync(() -> jiraService.addRemoteLink(fromIssue, toIssue, toJiraService, remoteLinkIcon), executor);
+	}
+
+	@Override
+	public CompletableFuture<JiraComment> addComment(String issueKey, String commentText) {
+		return CompletableFuture.supplyAsync(() -> jiraService.addComment(issueKey, commentText), executor);
+	}
+
+	@Override
+	public CompletableFuture<Void> updateComment(String issueKey, String commentId, String commentText) {
+		return CompletableFuture.runAsync(() -> jiraService.updateComment(issueKey, commentId, commentText), executor);
+	}
+
+	@Override
+	public CompletableFuture<JiraIssue> createIssue(JiraIssue issue) {
+		return CompletableFuture.supplyAsync(() -> jiraService.createIssue(issue), executor);
+	}
+
+	@Override
+	public CompletableFuture<Void> updateIssue(String issueKey, JiraIssueUpdate issueUpdate) {
+		return CompletableFuture.runAsync(() -> jiraService.updateIssue(issueKey, issueUpdate), executor);
+	}
+
+	@Override
+	public CompletableFuture<Void> transitionIssue(String issueKey, JiraIssueUpdate issueUpdate) {
+		return CompletableFuture.runAsync(() -> jiraService.transitionIssue(issueKey, issueUpdate), executor);
+	}
+
+}
@@ -0,0 +1,112 @@
+package de.cronn.jira.sync.service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.entity.HttpEntityWrapper;
+
+/**
+ * Counts the bytes of response bodies as received over the wire and after content decoding.
+ * {@link #wireBytesInterceptor()} must run before and {@link #contentBytesInterceptor()} after the content decoding interceptor.
+ */
+final class HttpTrafficCounter {
+
+	private final LongAdder responses = new LongAdder();
+	private final LongAdder wireBytes = new LongAdder();
+	private final LongAdder contentBytes = new LongAdder();
+
+	HttpResponseInterceptor wireBytesInterceptor() {
+		return (response, context) -> {
+			if (response.getEntity() != null) {
+				responses.increment();
+			}
+			countEntity(response, wireBytes);
+		};
+	}
+
+	HttpResponseInterceptor contentBytesInterceptor() {
+		return (response, context) -> countEntity(response, contentBytes);
+	}
+
+	private static void countEntity(HttpResponse response, LongAdder counter) {
+		HttpEntity entity = response.getEntity();
+		if (entity != null) {
+			response.setEntity(new CountingEntity(entity, counter));
+		}
+	}
+
+	long getResponses() {
+		return responses.sum();
+	}
+
+	long getWireBytes() {
+		return wireBytes.sum();
+	}
+
+	long getContentBytes() {
+		return contentBytes.sum();
+	}
+
+	private static final class CountingEntity extends HttpEntityWrapper {
+
+		private final LongAdder counter;
+
+		private CountingEntity(HttpEntity wrappedEntity, LongAdder counter) {
+			super(wrappedEntity);
+			this.counter = counter;
+		}
+
+		@Override
+		public InputStream getContent() throws IOException {
+			return new CountingInputStream(super.getContent(), counter);
+		}
+
+	}
+
+	private static final class CountingInputStream extends FilterInputStream {
+
+		private final LongAdder counter;
+
+		private CountingInputStream(InputStream in, LongAdder counter) {
+			super(in);
+			this.counter = counter;
+		}
+
+		@Override
+		public int read() throws IOException {
+			int value = super.read();
+			if (value >= 0) {
+				counter.increment();
+			}
+			return value;
+		}
+
+		@Override
+		public int read(byte[] buffer, int offset, int length) throws IOException {
+			int count = super.read(buffer, offset, length);
+			if (count > 0) {
+				counter.add(count);
+			}
+			return count;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			long skipped = super.skip(n);
+			counter.add(skipped);
+			return skipped;
+		}
+
+		@Override
+		public boolean markSupported() {
+			return false;
+		}
+
+	}
+
+}
@@ -0,0 +1,34 @@
+package de.cronn.jira.sync.service;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import de.cronn.jira.sync.JiraSyncException;
+
+public class JiraClientErrorException extends JiraSyncException {
+
+	private static final long serialVersionUID = 1L;
+
+	private final HttpStatus statusCode;
+	private final HttpHeaders responseHeaders;
+	private final byte[] responseBody;
+
+	JiraClientErrorException(String jiraUrl, String message, HttpStatus statusCode, HttpHeaders responseHeaders, byte[] responseBody) {
+		super(jiraUrl, message);
+		this.statusCode = statusCode;
+		this.responseHeaders = responseHeaders;
+		this.responseBody = responseBody;
+	}
+
+	public HttpStatus getStatusCode() {
+		return statusCode;
+	}
+
+	HttpHeaders getResponseHeaders() {
+		return responseHeaders;
+	}
+
+	byte[] getResponseBody() {
+		return responseBody;
+	}
+}
@@ -0,0 +1,71 @@
+package de.cronn.jira.sync.service;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.util.Assert;
+
+import de.cronn.jira.sync.domain.JiraField;
+import de.cronn.jira.sync.domain.WellKnownCustomFieldType;
+
+/**
+ * Immutable index of the fields of a Jira instance by name and by id, including the well-known types of custom fields.
+ */
+final class JiraFieldRegistry implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final Map<String, JiraField> fieldsByName;
+	private final Map<String, JiraField> fieldsById;
+	private final Map<String, WellKnownCustomFieldType> customFieldTypesById;
+
+	JiraFieldRegistry(List<JiraField> fields) {
+		Assert.notNull(fields, "fields must not be null");
+		Map<String, JiraField> fieldsByName = new HashMap<>(fields.size() * 2);
+		Map<String, JiraField> fieldsById = new HashMap<>(fields.size() * 2);
+		Map<String, WellKnownCustomFieldType> customFieldTypesById = new HashMap<>();
+		for (JiraField field : fields) {
+			// the first field wins, as with the previous linear search
+			fieldsByName.putIfAbsent(field.getName(), field);
+			fieldsById.putIfAbsent(field.getId(), field);
+			WellKnownCustomFieldType customFieldType = findCustomFieldType(field);
+			if (customFieldType != null) {
+				customFieldTypesById.putIfAbsent(field.getId(), customFieldType);
+			}
+		}
+		this.fieldsByName = Collections.unmodifiableMap(fieldsByName);
+		this.fieldsById = Collections.unmodifiableMap(fieldsById);
+		this.customFieldTypesById = Collections.unmodifiableMap(customFieldTypesById);
+	}
+
+	private static WellKnownCustomFieldType findCustomFieldType(JiraField field) {
+		if (field.getSchema() == null || field.getSchema().getCustom() == null) {
+			return null;
+		}
+		return WellKnownCustomFieldType.findByCustomSchemaType(field.getSchema().getCustom());
+	}
+
+	JiraField findByName(String fieldName) {
+		return fieldsByName.get(fieldName);
+	}
+
+	JiraField findById(String fieldId) {
+		return fieldsById.get(fieldId);
+	}
+
+	WellKnownCustomFieldType getCustomFieldType(JiraField field) {
+		WellKnownCustomFieldType customFieldType = customFieldTypesById.get(field.getId());
+		if (customFieldType != null) {
+			return customFieldType;
+		}
+		return WellKnownCustomFieldType.getByCustomSchema(field.getSchema());
+	}
+
+	int size() {
+		return fieldsById.size();
+	}
+
+}
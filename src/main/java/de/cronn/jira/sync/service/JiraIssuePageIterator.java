@@ -0,0 +1,121 @@
+package de.cronn.jira.sync.service;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.LongFunction;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.cronn.jira.sync.JiraSyncException;
+import de.cronn.jira.sync.domain.JiraIssue;
+import de.cronn.jira.sync.domain.JiraSearchResult;
+
+class JiraIssuePageIterator implements Iterator<JiraIssue> {
+
+	private static final Logger log = LoggerFactory.getLogger(JiraIssuePageIterator.class);
+
+	private final LongFunction<JiraSearchResult> pageFetcher;
+	private final long pageSize;
+	private final Executor prefetchExecutor;
+	private final int maxPagesInFlight;
+
+	private final Queue<CompletableFuture<JiraSearchResult>> pagesInFlight = new ArrayDeque<>();
+	private final Set<String> seenIssueKeys = new HashSet<>();
+
+	private Iterator<JiraIssue> currentPage = Collections.emptyIterator();
+	private boolean firstPageFetched;
+	private int nextPageNumber;
+	private int pageNumber;
+	private long totalResults;
+	private long fetchedIssues;
+
+	JiraIssuePageIterator(LongFunction<JiraSearchResult> pageFetcher, long pageSize, Executor prefetchExecutor, int maxPagesInFlight) {
+		this.pageFetcher = pageFetcher;
+		this.pageSize = pageSize;
+		this.prefetchExecutor = prefetchExecutor;
+		this.maxPagesInFlight = maxPagesInFlight;
+	}
+
+	@Override
+	public boolean hasNext() {
+		while (!currentPage.hasNext() && hasMorePages()) {
+			fetchNextPage();
+		}
+		return currentPage.hasNext();
+	}
+
+	@Override
+	public JiraIssue next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		return currentPage.next();
+	}
+
+	private boolean hasMorePages() {
+		return !firstPageFetched || !pagesInFlight.isEmpty() || nextPageNumber * pageSize < totalResults;
+	}
+
+	private void fetchNextPage() {
+		JiraSearchResult searchResult;
+		if (pagesInFlight.isEmpty()) {
+			searchResult = pageFetcher.apply(nextStartAt());
+		} else {
+			searchResult = await(pagesInFlight.poll());
+		}
+
+		firstPageFetched = true;
+		totalResults = searchResult.getTotal();
+		pageNumber++;
+
+		List<JiraIssue> issues = searchResult.getIssues().stream()
+			.filter(issue -> seenIssueKeys.add(issue.getKey()))
+			.collect(Collectors.toList());
+		fetchedIssues += issues.size();
+		int numPages = (int) Math.ceil(totalResults / (double) pageSize);
+		log.info("got {}/{} issues (page {}/{})", fetchedIssues, totalResults, pageNumber, numPages);
+		currentPage = issues.iterator();
+
+		prefetchPages();
+	}
+
+	private void prefetchPages() {
+		if (prefetchExecutor == null || maxPagesInFlight <= 1) {
+			return;
+		}
+		while (pagesInFlight.size() < maxPagesInFlight && nextPageNumber * pageSize < totalResults) {
+			long startAt = nextStartAt();
+			pagesInFlight.add(CompletableFuture.supplyAsync(() -> pageFetcher.apply(startAt), prefetchExecutor));
+		}
+	}
+
+	private long nextStartAt() {
+		long startAt = nextPageNumber * pageSize;
+		nextPageNumber++;
+		return startAt;
+	}
+
+	private static JiraSearchResult await(CompletableFuture<JiraSearchResult> page) {
+		try {
+			return page.join();
+		} catch (CompletionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new JiraSyncException("Failed to fetch page", cause);
+		}
+	}
+
+}
@@ -0,0 +1,47 @@
+package de.cronn.jira.sync.service;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+public final class JiraIssueProjection {
+
+	private final Set<String> customFields;
+	private final boolean includeComments;
+	private final boolean includeChangelog;
+
+	public JiraIssueProjection(Collection<String> customFields, boolean includeComments) {
+		this(customFields, includeComments, false);
+	}
+
+	public JiraIssueProjection(Collection<String> customFields, boolean includeComments, boolean includeChangelog) {
+		this.customFields = Collections.unmodifiableSet(new LinkedHashSet<>(customFields));
+		this.includeComments = includeComments;
+		this.includeChangelog = includeChangelog;
+	}
+
+	public Set<String> getCustomFields() {
+		return customFields;
+	}
+
+	public boolean isIncludeComments() {
+		return includeComments;
+	}
+
+	public boolean isIncludeChangelog() {
+		return includeChangelog;
+	}
+
+	@Override
+	public String toString() {
+		return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
+			.append("customFields", customFields)
+			.append("includeComments", includeComments)
+			.append("includeChangelog", includeChangelog)
+			.toString();
+	}
+}
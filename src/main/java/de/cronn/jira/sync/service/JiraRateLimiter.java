@@ -0,0 +1,232 @@
+package de.cronn.jira.sync.service;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.Assert;
+
+import de.cronn.jira.sync.JiraSyncException;
+import de.cronn.jira.sync.config.RateLimitConfig;
+
+/**
+ * Limits the requests to one Jira instance with an optional token bucket and an adaptive concurrency limit.
+ * The limit and the rate of the token bucket are halved whenever Jira answers with 429 or 503, and grow back to the configured
+ * values with every successful request.
+ * Throttled requests are retried after the delay given by the {@code Retry-After} header, during which no other request is started.
+ */
+public class JiraRateLimiter implements ClientHttpRequestInterceptor {
+
+	private static final Logger log = LoggerFactory.getLogger(JiraRateLimiter.class);
+
+	private static final String RETRY_AFTER = "Retry-After";
+
+	private final String jiraUrl;
+	private final RateLimitConfig config;
+	private final Object lock = new Object();
+	private final LongAdder requests = new LongAdder();
+	private final LongAdder throttledResponses = new LongAdder();
+
+	private double concurrencyLimit;
+	private double requestsPerSecond;
+	private int inFlightRequests;
+	private int waitingRequests;
+	private double tokens;
+	private long lastRefillNanos;
+	private long pausedUntilNanos;
+
+	JiraRateLimiter(String jiraUrl, RateLimitConfig config) {
+		Assert.isTrue(config.getMaxConcurrentRequests() > 0, "maxConcurrentRequests must be positive");
+		Assert.isTrue(config.getMaxRetries() >= 0, "maxRetries must not be negative");
+		this.jiraUrl = jiraUrl;
+		this.config = config;
+		this.concurrencyLimit = config.getMaxConcurrentRequests();
+		this.requestsPerSecond = config.getRequestsPerSecond();
+		this.tokens = getBurstSize();
+		this.lastRefillNanos = System.nanoTime();
+		this.pausedUntilNanos = lastRefillNanos;
+	}
+
+	@Override
+	public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+		for (int attempt = 0; ; attempt++) {
+			acquire();
+			ClientHttpResponse response;
+			try {
+				response = execution.execute(request, body);
+			} catch (IOException | RuntimeException e) {
+				release(false);
+				throw e;
+			}
+			boolean throttled = isThrottled(response);
+			if (!throttled || attempt >= config.getMaxRetries()) {
+				release(throttled);
+				return response;
+			}
+			long retryAfterMillis = getRetryAfterMillis(response.getHeaders());
+			response.close();
+			log.info("[{}] {} {} was throttled, retrying in {} ms (attempt {}/{})", jiraUrl, request.getMethod(), request.getURI().getPath(),
+				retryAfterMillis, attempt + 1, config.getMaxRetries());
+			pause(retryAfterMillis);
+			release(true);
+		}
+	}
+
+	private static boolean isThrottled(ClientHttpResponse response) throws IOException {
+		int statusCode = response.getRawStatusCode();
+		return statusCode == HttpStatus.TOO_MANY_REQUESTS.value() || statusCode == HttpStatus.SERVICE_UNAVAILABLE.value();
+	}
+
+	long getRetryAfterMillis(HttpHeaders headers) {
+		String retryAfter = headers.getFirst(RETRY_AFTER);
+		long retryAfterMillis = config.getDefaultRetryAfterMillis();
+		if (retryAfter != null) {
+			try {
+				retryAfterMillis = TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter.trim()));
+			} catch (NumberFormatException e) {
+				retryAfterMillis = parseRetryAfterDate(headers, retryAfterMillis);
+			}
+		}
+		return Math.max(0, Math.min(retryAfterMillis, config.getMaxRetryAfterMillis()));
+	}
+
+	private static long parseRetryAfterDate(HttpHeaders headers, long defaultMillis) {
+		try {
+			return headers.getFirstDate(RETRY_AFTER) - new Date().getTime();
+		} catch (IllegalArgumentException e) {
+			log.debug("ignoring illegal {} header: {}", RETRY_AFTER, headers.getFirst(RETRY_AFTER));
+			return defaultMillis;
+		}
+	}
+
+	private void acquire() {
+		synchronized (lock) {
+			waitingRequests++;
+			try {
+				while (true) {
+					long now = System.nanoTime();
+					long waitNanos;
+					if (pausedUntilNanos - now > 0) {
+						waitNanos = pausedUntilNanos - now;
+					} else if (inFlightRequests >= (int) concurrencyLimit) {
+						// woken up by release()
+						lock.wait();
+						continue;
+					} else {
+						refillTokens(now);
+						if (tokens >= 1) {
+							tokens--;
+							inFlightRequests++;
+							requests.increment();
+							return;
+						}
+						waitNanos = (long) ((1 - tokens) / requestsPerSecond * TimeUnit.SECONDS.toNanos(1));
+					}
+					lock.wait(Math.max(1, TimeUnit.NANOSECONDS.toMillis(waitNanos)));
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new JiraSyncException("Interrupted while waiting for the rate limit of " + jiraUrl, e);
+			} finally {
+				waitingRequests--;
+			}
+		}
+	}
+
+	private void refillTokens(long now) {
+		if (!isRateLimited()) {
+			tokens = 1;
+			return;
+		}
+		double elapsedSeconds = (now - lastRefillNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+		tokens = Math.min(getBurstSize(), tokens + elapsedSeconds * requestsPerSecond);
+		lastRefillNanos = now;
+	}
+
+	private boolean isRateLimited() {
+		return config.getRequestsPerSecond() > 0;
+	}
+
+	private double getBurstSize() {
+		return Math.max(1, config.getRequestsPerSecond());
+	}
+
+	private double getMinRequestsPerSecond() {
+		return Math.min(1, config.getRequestsPerSecond());
+	}
+
+	private void pause(long millis) {
+		synchronized (lock) {
+			throttledResponses.increment();
+			long pausedUntil = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+			if (pausedUntil - pausedUntilNanos > 0) {
+				pausedUntilNanos = pausedUntil;
+			}
+		}
+	}
+
+	private void release(boolean throttled) {
+		synchronized (lock) {
+			inFlightRequests--;
+			if (throttled) {
+				concurrencyLimit = Math.max(1, concurrencyLimit / 2);
+				if (isRateLimited()) {
+					requestsPerSecond = Math.max(getMinRequestsPerSecond(), requestsPerSecond / 2);
+				}
+			} else {
+				if (concurrencyLimit < config.getMaxConcurrentRequests()) {
+					concurrencyLimit = Math.min(config.getMaxConcurrentRequests(), concurrencyLimit + 1 / concurrencyLimit);
+				}
+				if (requestsPerSecond < config.getRequestsPerSecond()) {
+					requestsPerSecond = Math.min(config.getRequestsPerSecond(), requestsPerSecond + 1 / requestsPerSecond);
+				}
+			}
+			lock.notifyAll();
+		}
+	}
+
+	public int getConcurrencyLimit() {
+		synchronized (lock) {
+			return (int) concurrencyLimit;
+		}
+	}
+
+	/**
+	 * @return the current rate of the token bucket, or zero if the rate is not limited
+	 */
+	public double getRequestsPerSecond() {
+		synchronized (lock) {
+			return requestsPerSecond;
+		}
+	}
+
+	public int getInFlightRequests() {
+		synchronized (lock) {
+			return inFlightRequests;
+		}
+	}
+
+	public int getQueueDepth() {
+		synchronized (lock) {
+			return waitingRequests;
+		}
+	}
+
+	public long getRequests() {
+		return requests.sum();
+	}
+
+	public long getThrottledResponses() {
+		return throttledResponses.sum();
+	}
+
+}
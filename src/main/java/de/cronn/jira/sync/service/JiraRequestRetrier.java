@@ -0,0 +1,126 @@
+package de.cronn.jira.sync.service;
+
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.Assert;
+
+import de.cronn.jira.sync.JiraSyncException;
+import de.cronn.jira.sync.config.RetryConfig;
+
+/**
+ * Retries idempotent requests that fail with an I/O error or one of the configured status codes, e.g. 502 or 504 from a reverse proxy.
+ * The delay between attempts grows exponentially with full jitter, and no retry is started once the time budget would be exceeded.
+ * POST requests such as issue creation, comments or transitions are never retried.
+ * <p>
+ * A {@link ClientHttpRequestExecution} only walks the remaining interceptors on its first call, so the retrier must be the last
+ * interceptor and runs every attempt through the given attempt interceptor, e.g. the {@link JiraRateLimiter}, itself.
+ */
+public class JiraRequestRetrier implements ClientHttpRequestInterceptor {
+
+	private static final Logger log = LoggerFactory.getLogger(JiraRequestRetrier.class);
+
+	private static final Set<HttpMethod> IDEMPOTENT_METHODS = EnumSet.of(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS, HttpMethod.PUT);
+
+	private final String jiraUrl;
+	private final RetryConfig config;
+	private final ClientHttpRequestInterceptor attemptInterceptor;
+	private final LongAdder retries = new LongAdder();
+
+	JiraRequestRetrier(String jiraUrl, RetryConfig config) {
+		this(jiraUrl, config, null);
+	}
+
+	JiraRequestRetrier(String jiraUrl, RetryConfig config, ClientHttpRequestInterceptor attemptInterceptor) {
+		Assert.isTrue(config.getMaxAttempts() > 0, "maxAttempts must be positive");
+		Assert.isTrue(config.getInitialBackoffMillis() >= 0, "initialBackoffMillis must not be negative");
+		this.jiraUrl = jiraUrl;
+		this.config = config;
+		this.attemptInterceptor = attemptInterceptor;
+	}
+
+	@Override
+	public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+		if (!IDEMPOTENT_METHODS.contains(request.getMethod())) {
+			return executeAttempt(request, body, execution);
+		}
+		long startNanos = System.nanoTime();
+		for (int attempt = 1; ; attempt++) {
+			ClientHttpResponse response;
+			try {
+				response = executeAttempt(request, body, execution);
+			} catch (IOException e) {
+				long backoffMillis = getBackoffMillis(attempt);
+				if (!shouldRetry(attempt, startNanos, backoffMillis)) {
+					throw e;
+				}
+				log.info("[{}] {} {} failed with '{}', retrying in {} ms (attempt {}/{})", jiraUrl, request.getMethod(), request.getURI().getPath(),
+					e.getMessage(), backoffMillis, attempt, config.getMaxAttempts());
+				sleep(backoffMillis);
+				continue;
+			}
+			int statusCode = response.getRawStatusCode();
+			if (!config.getStatusCodes().contains(statusCode)) {
+				return response;
+			}
+			long backoffMillis = getBackoffMillis(attempt);
+			if (!shouldRetry(attempt, startNanos, backoffMillis)) {
+				return response;
+			}
+			response.close();
+			log.info("[{}] {} {} failed with status {}, retrying in {} ms (attempt {}/{})", jiraUrl, request.getMethod(), request.getURI().getPath(),
+				statusCode, backoffMillis, attempt, config.getMaxAttempts());
+			sleep(backoffMillis);
+		}
+	}
+
+	private ClientHttpResponse executeAttempt(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+		if (attemptInterceptor != null) {
+			return attemptInterceptor.intercept(request, body, execution);
+		}
+		return execution.execute(request, body);
+	}
+
+	private boolean shouldRetry(int attempt, long startNanos, long backoffMillis) {
+		if (attempt >= config.getMaxAttempts()) {
+			return false;
+		}
+		long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+		return elapsedMillis + backoffMillis < config.getTimeBudgetMillis();
+	}
+
+	/**
+	 * @return a random delay between zero and the exponential backoff of the given attempt, capped by maxBackoffMillis
+	 */
+	long getBackoffMillis(int attempt) {
+		long backoffMillis = config.getInitialBackoffMillis() << Math.min(attempt - 1, 20);
+		long cappedBackoffMillis = Math.min(Math.max(0, backoffMillis), config.getMaxBackoffMillis());
+		return ThreadLocalRandom.current().nextLong(cappedBackoffMillis + 1);
+	}
+
+	private void sleep(long millis) {
+		retries.increment();
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new JiraSyncException("Interrupted while waiting to retry a request to " + jiraUrl, e);
+		}
+	}
+
+	public long getRetries() {
+		return retries.sum();
+	}
+
+}
@@ -1,12 +1,13 @@
 package de.cronn.jira.sync.service;
 
-import de.cronn.jira.sync.JiraSyncException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 
-class JiraResourceNotFoundException extends JiraSyncException {
+public class JiraResourceNotFoundException extends JiraClientErrorException {
 
 	private static final long serialVersionUID = 1L;
 
-	JiraResourceNotFoundException(String jiraUrl, String message) {
-		super(jiraUrl, message);
+	public JiraResourceNotFoundException(String jiraUrl, String message, HttpHeaders responseHeaders, byte[] responseBody) {
+		super(jiraUrl, message, HttpStatus.NOT_FOUND, responseHeaders, responseBody);
 	}
 }
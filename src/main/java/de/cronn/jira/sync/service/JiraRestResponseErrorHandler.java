@@ -7,6 +7,7 @@ import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.web.client.DefaultResponseErrorHandler;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.HttpStatusCodeException;
 
 import de.cronn.jira.sync.JiraSyncException;
 
@@ -22,14 +23,19 @@ public class JiraRestResponseErrorHandler extends DefaultResponseErrorHandler {
 	public void handleError(ClientHttpResponse response) throws IOException {
 		try {
 			super.handleError(response);
-		} catch (HttpClientErrorException | HttpServerErrorException e) {
-			String responseBodyAsString = e.getResponseBodyAsString();
-			String message = e.getStatusCode().getReasonPhrase() + ": " + responseBodyAsString;
+		} catch (HttpClientErrorException e) {
+			String message = buildMessage(e);
 			if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
-				throw new JiraResourceNotFoundException(jiraUrl, message);
+				throw new JiraResourceNotFoundException(jiraUrl, message, e.getResponseHeaders(), e.getResponseBodyAsByteArray());
 			} else {
-				throw new JiraSyncException(jiraUrl, message);
+				throw new JiraClientErrorException(jiraUrl, message, e.getStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
 			}
+		} catch (HttpServerErrorException e) {
+			throw new JiraSyncException(jiraUrl, buildMessage(e));
 		}
 	}
+
+	private static String buildMessage(HttpStatusCodeException e) {
+		return e.getStatusCode().getReasonPhrase() + ": " + e.getResponseBodyAsString();
+	}
 }
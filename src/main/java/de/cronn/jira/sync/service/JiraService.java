@@ -5,14 +5,19 @@ import java.time.Instant;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import de.cronn.jira.sync.config.JiraConnectionProperties;
+import de.cronn.jira.sync.domain.JiraChangeLog;
 import de.cronn.jira.sync.domain.JiraComment;
 import de.cronn.jira.sync.domain.JiraComponent;
 import de.cronn.jira.sync.domain.JiraField;
 import de.cronn.jira.sync.domain.JiraFieldsUpdate;
 import de.cronn.jira.sync.domain.JiraIssue;
+import de.cronn.jira.sync.domain.JiraIssueBulkCreateResponse;
 import de.cronn.jira.sync.domain.JiraIssueUpdate;
 import de.cronn.jira.sync.domain.JiraPriority;
 import de.cronn.jira.sync.domain.JiraProject;
@@ -22,6 +27,7 @@ import de.cronn.jira.sync.domain.JiraServerInfo;
 import de.cronn.jira.sync.domain.JiraTransition;
 import de.cronn.jira.sync.domain.JiraUser;
 import de.cronn.jira.sync.domain.JiraVersion;
+import de.cronn.jira.sync.domain.WellKnownCustomFieldType;
 
 public interface JiraService extends AutoCloseable {
 
@@ -44,8 +50,12 @@ public interface JiraService extends AutoCloseable {
 
 	JiraIssue getIssueByKey(String key);
 
+	JiraIssue getIssueByKey(String key, JiraIssueProjection projection);
+
 	JiraIssue getIssueByKeyWithChangelog(String issueKey);
 
+	List<JiraIssue> getIssuesByKeys(Collection<String> keys, JiraIssueProjection projection);
+
 	Map<String, Object> getAllowedValuesForCustomField(String projectKey, String customFieldId);
 
 	JiraProject getProjectByKey(String projectKey);
@@ -62,20 +72,51 @@ public interface JiraService extends AutoCloseable {
 
 	List<JiraComponent> getComponents(String projectKey);
 
-	List<JiraIssue> getIssuesByFilterId(String filterId, Collection<String> customFields);
+	default List<JiraIssue> getIssuesByFilterId(String filterId, Collection<String> customFields) {
+		return streamIssuesByFilterId(filterId, customFields).collect(Collectors.toList());
+	}
+
+	default Stream<JiraIssue> streamIssuesByFilterId(String filterId, Collection<String> customFields) {
+		return streamIssuesByFilterId(filterId, customFields, null);
+	}
+
+	default Stream<JiraIssue> streamIssuesByFilterId(String filterId, Collection<String> customFields, String additionalJql) {
+		return streamIssuesByFilterId(filterId, new JiraIssueProjection(customFields, true), additionalJql);
+	}
+
+	Stream<JiraIssue> streamIssuesByFilterId(String filterId, JiraIssueProjection projection, String additionalJql);
 
 	List<JiraRemoteLink> getRemoteLinks(String issueKey, Instant ifModifiedSince);
 
+	JiraChangeLog getChangelog(String issueKey, Instant issueUpdated);
+
 	List<JiraTransition> getTransitions(String issueKey);
 
+	List<JiraTransition> getTransitionsForWorkflowState(JiraIssue issue);
+
+	void evictTransitionsForWorkflowState(JiraIssue issue);
+
 	void addRemoteLink(JiraIssue fromIssue, JiraIssue toIssue, JiraService toJiraService, URL remoteLinkIcon);
 
 	JiraComment addComment(String issueKey, String commentText);
 
 	void updateComment(String issueKey, String commentId, String commentText);
 
+	/**
+	 * Updates the given comments and adds the new comments in the given order.
+	 * Jira orders comments by their creation time, hence a new comment must not be posted before its predecessor was created.
+	 */
+	default void writeComments(String issueKey, Map<String, String> commentTextsById, List<String> newCommentTexts) {
+		commentTextsById.forEach((commentId, commentText) -> updateComment(issueKey, commentId, commentText));
+		for (String commentText : newCommentTexts) {
+			addComment(issueKey, commentText);
+		}
+	}
+
 	JiraIssue createIssue(JiraIssue issue);
 
+	JiraIssueBulkCreateResponse createIssues(List<JiraIssue> issues);
+
 	default void updateIssue(String issueKey, Consumer<JiraFieldsUpdate> fieldsUpdateConsumer) {
 		JiraIssueUpdate jiraIssueUpdate = new JiraIssueUpdate();
 		fieldsUpdateConsumer.accept(jiraIssueUpdate.getOrCreateFields());
@@ -90,6 +131,17 @@ public interface JiraService extends AutoCloseable {
 
 	JiraField findFieldById(String id);
 
+	default WellKnownCustomFieldType getCustomFieldType(JiraField field) {
+		return WellKnownCustomFieldType.getByCustomSchema(field.getSchema());
+	}
+
 	boolean isSource();
 
+	/**
+	 * @return the executor that runs the calls of {@link AsyncJiraService#of(JiraService)}, or {@code null} to run them in the calling thread
+	 */
+	default Executor getAsyncExecutor() {
+		return null;
+	}
+
 }
@@ -3,6 +3,9 @@ package de.cronn.jira.sync.service;
 import java.net.URI;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import javax.cache.CacheManager;
@@ -24,8 +27,10 @@ import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.util.Assert;
 
 import de.cronn.jira.sync.config.CacheConfig;
+import de.cronn.jira.sync.config.CacheTierConfig;
 import de.cronn.jira.sync.config.JiraSyncConfig;
 
 @Configuration
@@ -43,8 +48,28 @@ public class JiraServiceCacheConfig {
 	static final String CACHE_NAME_RESOLUTIONS = "resolutions";
 	static final String CACHE_NAME_FIELDS = "fields";
 	static final String CACHE_NAME_REMOTE_LINKS = "remoteLinks";
+	static final String CACHE_NAME_CHANGELOGS = "changelogs";
+	static final String CACHE_NAME_TRANSITIONS = "transitions";
 	static final String CACHE_NAME_FIELD_ALLOWED_VALUES = "fieldAllowedValues";
 
+	static final List<String> CACHE_NAMES = Collections.unmodifiableList(Arrays.asList(
+		CACHE_NAME_PRIORITIES,
+		CACHE_NAME_SERVER_INFO,
+		CACHE_NAME_MYSELF,
+		CACHE_NAME_USERS,
+		CACHE_NAME_PROJECTS,
+		CACHE_NAME_VERSIONS,
+		CACHE_NAME_COMPONENTS,
+		CACHE_NAME_RESOLUTIONS,
+		CACHE_NAME_FIELDS,
+		CACHE_NAME_REMOTE_LINKS,
+		CACHE_NAME_CHANGELOGS,
+		CACHE_NAME_TRANSITIONS,
+		CACHE_NAME_FIELD_ALLOWED_VALUES));
+
+	private static final long DEFAULT_HEAP_ENTRIES = 100;
+	private static final long DEFAULT_DISK_MEGABYTES = 1;
+
 	private static final Duration ONE_HOUR = Duration.of(1, TimeUnit.HOURS);
 	private static final Duration THIRTY_SECONDS = Duration.of(30, TimeUnit.SECONDS);
 
@@ -54,19 +79,24 @@ public class JiraServiceCacheConfig {
 		CachingProvider cachingProvider = Caching.getCachingProvider();
 		EhcacheCachingProvider ehcacheCachingProvider = (EhcacheCachingProvider) cachingProvider;
 		CacheConfig cacheConfig = jiraSyncConfig.getCache();
+		for (String cacheName : cacheConfig.getCaches().keySet()) {
+			Assert.isTrue(CACHE_NAMES.contains(cacheName), "Unknown cache '" + cacheName + "'. Known caches: " + CACHE_NAMES);
+		}
 		CacheManager cacheManager = getCacheManager(ehcacheCachingProvider, cacheConfig);
 		boolean persistentCache = cacheConfig.isPersistent();
-		createCache(cacheManager, CACHE_NAME_PROJECTS, ONE_HOUR, persistentCache);
-		createCache(cacheManager, CACHE_NAME_PRIORITIES, ONE_HOUR, persistentCache);
-		createCache(cacheManager, CACHE_NAME_RESOLUTIONS, ONE_HOUR, persistentCache);
-		createCache(cacheManager, CACHE_NAME_VERSIONS, ONE_HOUR, persistentCache);
-		createCache(cacheManager, CACHE_NAME_COMPONENTS, ONE_HOUR, persistentCache);
-		createCache(cacheManager, CACHE_NAME_FIELDS, ONE_HOUR, persistentCache);
-		createCache(cacheManager, CACHE_NAME_REMOTE_LINKS, ONE_HOUR, persistentCache);
-		createCache(cacheManager, CACHE_NAME_USERS, ONE_HOUR, persistentCache);
-		createCache(cacheManager, CACHE_NAME_FIELD_ALLOWED_VALUES, ONE_HOUR, persistentCache);
-		createCache(cacheManager, CACHE_NAME_MYSELF, ONE_HOUR, false);
-		createCache(cacheManager, CACHE_NAME_SERVER_INFO, THIRTY_SECONDS, false);
+		createCache(cacheManager, cacheConfig, CACHE_NAME_PROJECTS, ONE_HOUR, persistentCache);
+		createCache(cacheManager, cacheConfig, CACHE_NAME_PRIORITIES, ONE_HOUR, persistentCache);
+		createCache(cacheManager, cacheConfig, CACHE_NAME_RESOLUTIONS, ONE_HOUR, persistentCache);
+		createCache(cacheManager, cacheConfig, CACHE_NAME_VERSIONS, ONE_HOUR, persistentCache);
+		createCache(cacheManager, cacheConfig, CACHE_NAME_COMPONENTS, ONE_HOUR, persistentCache);
+		createCache(cacheManager, cacheConfig, CACHE_NAME_FIELDS, ONE_HOUR, persistentCache);
+		createCache(cacheManager, cacheConfig, CACHE_NAME_REMOTE_LINKS, ONE_HOUR, persistentCache);
+		createCache(cacheManager, cacheConfig, CACHE_NAME_USERS, ONE_HOUR, persistentCache);
+		createCache(cacheManager, cacheConfig, CACHE_NAME_FIELD_ALLOWED_VALUES, ONE_HOUR, persistentCache);
+		createCache(cacheManager, cacheConfig, CACHE_NAME_TRANSITIONS, ONE_HOUR, persistentCache);
+		createCache(cacheManager, cacheConfig, CACHE_NAME_MYSELF, ONE_HOUR, false);
+		createCache(cacheManager, cacheConfig, CACHE_NAME_CHANGELOGS, ONE_HOUR, false);
+		createCache(cacheManager, cacheConfig, CACHE_NAME_SERVER_INFO, THIRTY_SECONDS, false);
 		return cacheManager;
 	}
 
@@ -88,16 +118,7 @@ public class JiraServiceCacheConfig {
 		}
 	}
 
-	private void createCache(CacheManager cacheManager, String cacheName, Duration timeToLive, boolean persistentCache) {
-		ResourcePoolsBuilder resourcePoolsBuilder = ResourcePoolsBuilder.heap(100);
-		if (persistentCache) {
-			resourcePoolsBuilder = resourcePoolsBuilder.disk(1, MemoryUnit.MB, true);
-		}
-		CacheConfiguration<Object, Object> cacheConfiguration = CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class,
-			resourcePoolsBuilder)
-			.withExpiry(Expirations.timeToLiveExpiration(timeToLive))
-			.build();
-
+	private void createCache(CacheManager cacheManager, CacheConfig cacheConfig, String cacheName, Duration defaultTimeToLive, boolean persistentCache) {
 		for (String cache : cacheManager.getCacheNames()) {
 			if (cache.equals(cacheName)) {
 				log.warn("cache '{}' already exists. skipping creation", cacheName);
@@ -105,7 +126,41 @@ public class JiraServiceCacheConfig {
 			}
 		}
 
+		CacheTierConfig tierConfig = cacheConfig.getCaches().get(cacheName);
+		CacheConfiguration<Object, Object> cacheConfiguration = createCacheConfiguration(cacheName, tierConfig, defaultTimeToLive, persistentCache);
 		cacheManager.createCache(cacheName, Eh107Configuration.fromEhcacheCacheConfiguration(cacheConfiguration));
+		if (cacheConfig.isStatistics()) {
+			cacheManager.enableStatistics(cacheName, true);
+		}
+	}
+
+	static CacheConfiguration<Object, Object> createCacheConfiguration(String cacheName, CacheTierConfig tierConfig, Duration defaultTimeToLive, boolean persistentCache) {
+		if (tierConfig == null) {
+			tierConfig = new CacheTierConfig();
+		}
+		ResourcePoolsBuilder resourcePoolsBuilder = ResourcePoolsBuilder.heap(getOrDefault(tierConfig.getHeapEntries(), DEFAULT_HEAP_ENTRIES));
+		if (tierConfig.getOffHeapMegabytes() != null) {
+			resourcePoolsBuilder = resourcePoolsBuilder.offheap(tierConfig.getOffHeapMegabytes(), MemoryUnit.MB);
+		}
+		if (persistentCache) {
+			resourcePoolsBuilder = resourcePoolsBuilder.disk(getOrDefault(tierConfig.getDiskMegabytes(), DEFAULT_DISK_MEGABYTES), MemoryUnit.MB, true);
+		} else if (tierConfig.getDiskMegabytes() != null) {
+			log.warn("cache '{}' is not persistent. ignoring disk tier of {} MB", cacheName, tierConfig.getDiskMegabytes());
+		}
+
+		Duration timeToLive = defaultTimeToLive;
+		if (tierConfig.getTimeToLiveSeconds() != null) {
+			Assert.isTrue(tierConfig.getTimeToLiveSeconds() > 0, "timeToLiveSeconds of cache '" + cacheName + "' must be positive");
+			timeToLive = Duration.of(tierConfig.getTimeToLiveSeconds(), TimeUnit.SECONDS);
+		}
+
+		return CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class, resourcePoolsBuilder)
+			.withExpiry(Expirations.timeToLiveExpiration(timeToLive))
+			.build();
+	}
+
+	private static long getOrDefault(Long value, long defaultValue) {
+		return value != null ? value : defaultValue;
 	}
 
 }
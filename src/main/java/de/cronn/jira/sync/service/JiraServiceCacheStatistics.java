@@ -0,0 +1,77 @@
+package de.cronn.jira.sync.service;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import javax.annotation.PreDestroy;
+import javax.cache.CacheManager;
+import javax.cache.management.CacheStatisticsMXBean;
+import javax.management.JMX;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import de.cronn.jira.sync.JiraSyncException;
+import de.cronn.jira.sync.config.JiraSyncConfig;
+
+/**
+ * Reads the JCache statistics of the Jira service caches, which are registered as MBeans if {@code de.cronn.jira.sync.cache.statistics} is enabled.
+ */
+@Component
+public class JiraServiceCacheStatistics {
+
+	private static final Logger log = LoggerFactory.getLogger(JiraServiceCacheStatistics.class);
+
+	private final CacheManager cacheManager;
+	private final JiraSyncConfig jiraSyncConfig;
+
+	public JiraServiceCacheStatistics(CacheManager cacheManager, JiraSyncConfig jiraSyncConfig) {
+		this.cacheManager = cacheManager;
+		this.jiraSyncConfig = jiraSyncConfig;
+	}
+
+	public Map<String, CacheStatisticsMXBean> getStatistics() {
+		Map<String, CacheStatisticsMXBean> statistics = new TreeMap<>();
+		MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+		for (String cacheName : cacheManager.getCacheNames()) {
+			Set<ObjectName> objectNames = mBeanServer.queryNames(createObjectName(cacheName), null);
+			if (!objectNames.isEmpty()) {
+				ObjectName objectName = objectNames.iterator().next();
+				statistics.put(cacheName, JMX.newMXBeanProxy(mBeanServer, objectName, CacheStatisticsMXBean.class));
+			}
+		}
+		return statistics;
+	}
+
+	private ObjectName createObjectName(String cacheName) {
+		try {
+			return new ObjectName("javax.cache:type=CacheStatistics,CacheManager=" + sanitize(cacheManager.getURI().toString())
+				+ ",Cache=" + sanitize(cacheName));
+		} catch (MalformedObjectNameException e) {
+			throw new JiraSyncException("Illegal name of cache '" + cacheName + "'", e);
+		}
+	}
+
+	// same escaping as the JCache implementation applies when registering the MBeans
+	private static String sanitize(String name) {
+		return name.replaceAll("[,:=\n]", ".");
+	}
+
+	@PreDestroy
+	public void logStatistics() {
+		if (!jiraSyncConfig.getCache().isStatistics()) {
+			return;
+		}
+		getStatistics().forEach((cacheName, cacheStatistics) ->
+			log.info("cache '{}': {} hits, {} misses, {} evictions, {} puts, hit ratio {}%", cacheName,
+				cacheStatistics.getCacheHits(), cacheStatistics.getCacheMisses(), cacheStatistics.getCacheEvictions(),
+				cacheStatistics.getCachePuts(), String.format("%.1f", cacheStatistics.getCacheHitPercentage())));
+	}
+
+}
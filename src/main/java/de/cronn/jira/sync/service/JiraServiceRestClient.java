@@ -2,16 +2,33 @@ package de.cronn.jira.sync.service;
 
 import static de.cronn.jira.sync.service.JiraServiceCacheConfig.*;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.security.GeneralSecurityException;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.annotation.PreDestroy;
 import javax.net.ssl.HostnameVerifier;
@@ -20,20 +37,36 @@ import javax.net.ssl.SSLSocketFactory;
 
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
-import org.apache.http.client.HttpClient;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
 import org.apache.http.conn.DnsResolver;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
 import org.apache.http.conn.socket.LayeredConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
 import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.ssl.SSLContexts;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.context.annotation.Scope;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 import org.springframework.web.client.RestTemplate;
@@ -41,6 +74,7 @@ import org.springframework.web.client.RestTemplate;
 import de.cronn.jira.sync.JiraSyncException;
 import de.cronn.jira.sync.config.BasicAuthentication;
 import de.cronn.jira.sync.config.JiraConnectionProperties;
+import de.cronn.jira.sync.domain.JiraChangeLog;
 import de.cronn.jira.sync.domain.JiraComment;
 import de.cronn.jira.sync.domain.JiraComponent;
 import de.cronn.jira.sync.domain.JiraComponentsList;
@@ -48,6 +82,8 @@ import de.cronn.jira.sync.domain.JiraField;
 import de.cronn.jira.sync.domain.JiraFieldList;
 import de.cronn.jira.sync.domain.JiraFilterResult;
 import de.cronn.jira.sync.domain.JiraIssue;
+import de.cronn.jira.sync.domain.JiraIssueBulkCreateRequest;
+import de.cronn.jira.sync.domain.JiraIssueBulkCreateResponse;
 import de.cronn.jira.sync.domain.JiraIssueUpdate;
 import de.cronn.jira.sync.domain.JiraLinkIcon;
 import de.cronn.jira.sync.domain.JiraLoginRequest;
@@ -68,6 +104,7 @@ import de.cronn.jira.sync.domain.JiraTransitions;
 import de.cronn.jira.sync.domain.JiraUser;
 import de.cronn.jira.sync.domain.JiraVersion;
 import de.cronn.jira.sync.domain.JiraVersionsList;
+import de.cronn.jira.sync.domain.WellKnownCustomFieldType;
 import de.cronn.jira.sync.domain.WellKnownJiraField;
 import de.cronn.proxy.ssh.SshProxy;
 
@@ -78,18 +115,32 @@ public class JiraServiceRestClient implements JiraService {
 	private static final Logger log = LoggerFactory.getLogger(JiraServiceRestClient.class);
 
 	static final long DEFAULT_PAGE_SIZE = 100;
-	private static final int MAX_PAGES = 10;
+	static final int MAX_KEYS_PER_SEARCH = 50;
+	private static final long EXECUTOR_TERMINATION_TIMEOUT_SECONDS = 30;
+
+	private static final String TRANSITIONS_CACHE_KEY = "{ #root.target.url, #issue.fields.project.key, #issue.fields.issuetype.id, #issue.fields.status.id }";
+
+	private static final String FIELD_REGISTRY_CACHE_KEY = "fieldRegistry";
 
 	private final RestTemplateBuilder restTemplateBuilder;
+	private final CacheManager cacheManager;
 
 	private RestTemplate restTemplate;
 	private JiraConnectionProperties jiraConnectionProperties;
 	private SshProxy sshProxy;
+	private CloseableHttpClient httpClient;
+	private HttpTrafficCounter httpTrafficCounter;
+	private JiraRateLimiter rateLimiter;
+	private JiraRequestRetrier requestRetrier;
+	private ExecutorService searchExecutor;
+	private ExecutorService commentExecutor;
+	private ExecutorService asyncExecutor;
 	private String url;
 	private boolean source;
 
-	public JiraServiceRestClient(RestTemplateBuilder restTemplateBuilder) {
+	public JiraServiceRestClient(RestTemplateBuilder restTemplateBuilder, CacheManager cacheManager) {
 		this.restTemplateBuilder = restTemplateBuilder;
+		this.cacheManager = cacheManager;
 	}
 
 	private RestTemplate createRestTemplate(JiraConnectionProperties jiraConnectionProperties) {
@@ -99,14 +150,72 @@ public class JiraServiceRestClient implements JiraService {
 			builder = builder.basicAuthorization(basicAuth.getUsername(), basicAuth.getPassword());
 		}
 
-		if (jiraConnectionProperties.getSslTrustStore() != null) {
-			builder = builder.requestFactory(new HttpComponentsClientHttpRequestFactory(httpClient(jiraConnectionProperties)));
+		httpClient = createHttpClient(jiraConnectionProperties);
+		builder = builder.requestFactory(new HttpComponentsClientHttpRequestFactory(httpClient));
+
+		if (jiraConnectionProperties.getRateLimit().isEnabled()) {
+			rateLimiter = new JiraRateLimiter(url, jiraConnectionProperties.getRateLimit());
+		}
+
+		if (jiraConnectionProperties.getRetry().isEnabled()) {
+			// the retrier passes each attempt through the rate limiter, the interceptor chain is walked only once per request
+			requestRetrier = new JiraRequestRetrier(url, jiraConnectionProperties.getRetry(), rateLimiter);
+			builder = builder.additionalInterceptors(requestRetrier);
+		} else if (rateLimiter != null) {
+			builder = builder.additionalInterceptors(rateLimiter);
 		}
 
 		return builder.build();
 	}
 
-	private HttpClient httpClient(JiraConnectionProperties jiraConnectionProperties) {
+	private CloseableHttpClient createHttpClient(JiraConnectionProperties jiraConnectionProperties) {
+		LayeredConnectionSocketFactory sslSocketFactory = sslSocketFactory(jiraConnectionProperties);
+		if (jiraConnectionProperties.getSshJumpHost() != null) {
+			sshProxy = new SshProxy();
+			sslSocketFactory = new SshTunnelSslSocketFactory(sshProxy, sslSocketFactory, jiraConnectionProperties.getSshJumpHost());
+		}
+
+		Registry<ConnectionSocketFactory> socketFactoryRegistry = RegistryBuilder.<ConnectionSocketFactory> create()
+			.register("http", PlainConnectionSocketFactory.getSocketFactory())
+			.register("https", sslSocketFactory)
+			.build();
+
+		PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(socketFactoryRegistry, null, null,
+			determineDnsResolver(jiraConnectionProperties), -1, TimeUnit.MILLISECONDS);
+		connectionManager.setMaxTotal(jiraConnectionProperties.getMaxConnections());
+		connectionManager.setDefaultMaxPerRoute(jiraConnectionProperties.getMaxConnectionsPerRoute());
+
+		RequestConfig requestConfig = RequestConfig.custom()
+			.setConnectTimeout(jiraConnectionProperties.getConnectTimeoutMillis())
+			.setSocketTimeout(jiraConnectionProperties.getReadTimeoutMillis())
+			.build();
+
+		long keepAliveMillis = jiraConnectionProperties.getKeepAliveMillis();
+		HttpClientBuilder httpClientBuilder = HttpClientBuilder.create();
+		if (jiraConnectionProperties.isContentCompression()) {
+			httpTrafficCounter = new HttpTrafficCounter();
+			httpClientBuilder = httpClientBuilder
+				.addInterceptorFirst(httpTrafficCounter.wireBytesInterceptor())
+				.addInterceptorLast(httpTrafficCounter.contentBytesInterceptor());
+		} else {
+			httpClientBuilder = httpClientBuilder.disableContentCompression();
+		}
+		return httpClientBuilder
+			.setConnectionManager(connectionManager)
+			.setDefaultRequestConfig(requestConfig)
+			.setKeepAliveStrategy((response, context) -> {
+				long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+				return serverKeepAlive > 0 ? Math.min(serverKeepAlive, keepAliveMillis) : keepAliveMillis;
+			})
+			.evictExpiredConnections()
+			.evictIdleConnections(jiraConnectionProperties.getIdleConnectionTimeoutMillis(), TimeUnit.MILLISECONDS)
+			.build();
+	}
+
+	private static LayeredConnectionSocketFactory sslSocketFactory(JiraConnectionProperties jiraConnectionProperties) {
+		if (jiraConnectionProperties.getSslTrustStore() == null) {
+			return SSLConnectionSocketFactory.getSocketFactory();
+		}
 		try {
 			SSLContext sslContext = SSLContexts.custom()
 				.loadTrustMaterial(
@@ -116,17 +225,7 @@ public class JiraServiceRestClient implements JiraService {
 
 			HostnameVerifier hostnameVerifier = SSLConnectionSocketFactory.getDefaultHostnameVerifier();
 			SSLSocketFactory socketFactory = sslContext.getSocketFactory();
-			LayeredConnectionSocketFactory sslSocketFactory = new SSLConnectionSocketFactory(socketFactory, hostnameVerifier);
-
-			if (jiraConnectionProperties.getSshJumpHost() != null) {
-				sshProxy = new SshProxy();
-				sslSocketFactory = new SshTunnelSslSocketFactory(sshProxy, sslSocketFactory, jiraConnectionProperties.getSshJumpHost());
-			}
-
-			return HttpClientBuilder.create()
-				.setSSLSocketFactory(sslSocketFactory)
-				.setDnsResolver(determineDnsResolver(jiraConnectionProperties))
-				.build();
+			return new SSLConnectionSocketFactory(socketFactory, hostnameVerifier);
 		} catch (GeneralSecurityException | IOException e) {
 			throw new JiraSyncException("Failed to build custom http client", e);
 		}
@@ -150,18 +249,30 @@ public class JiraServiceRestClient implements JiraService {
 		CACHE_NAME_VERSIONS,
 		CACHE_NAME_RESOLUTIONS,
 		CACHE_NAME_FIELDS,
-		CACHE_NAME_REMOTE_LINKS }, allEntries = true)
+		CACHE_NAME_REMOTE_LINKS,
+		CACHE_NAME_CHANGELOGS,
+		CACHE_NAME_TRANSITIONS }, allEntries = true)
 	public void evictAllCaches() {
 		log.info("all caches evicted");
 	}
 
 	@Override
+	@CacheEvict(cacheNames = CACHE_NAME_CHANGELOGS, allEntries = true)
 	public void login(JiraConnectionProperties jiraConnectionProperties, boolean source) {
 		this.jiraConnectionProperties = jiraConnectionProperties;
 		this.source = source;
 		validateUrl(jiraConnectionProperties.getUrl());
 		this.url = jiraConnectionProperties.getUrl();
 		this.restTemplate = createRestTemplate(jiraConnectionProperties);
+		if (jiraConnectionProperties.getMaxConcurrentSearchRequests() > 1) {
+			this.searchExecutor = Executors.newFixedThreadPool(jiraConnectionProperties.getMaxConcurrentSearchRequests(), new CustomizableThreadFactory("search-"));
+		}
+		if (jiraConnectionProperties.getMaxConcurrentCommentRequests() > 1) {
+			this.commentExecutor = Executors.newFixedThreadPool(jiraConnectionProperties.getMaxConcurrentCommentRequests(), new CustomizableThreadFactory("comment-"));
+		}
+		if (jiraConnectionProperties.getMaxConcurrentAsyncRequests() > 1) {
+			this.asyncExecutor = Executors.newFixedThreadPool(jiraConnectionProperties.getMaxConcurrentAsyncRequests(), new CustomizableThreadFactory("async-"));
+		}
 		if (hasUsernameAndPassword(jiraConnectionProperties)) {
 			performLoginRequest(jiraConnectionProperties);
 		}
@@ -178,21 +289,69 @@ public class JiraServiceRestClient implements JiraService {
 
 	@Override
 	public void logout() {
+		// calls that are still running on the executors use the state of this login, so they complete before it is cleared
+		if (searchExecutor != null) {
+			shutDown(searchExecutor);
+			searchExecutor = null;
+		}
+		if (commentExecutor != null) {
+			shutDown(commentExecutor);
+			commentExecutor = null;
+		}
+		if (asyncExecutor != null) {
+			shutDown(asyncExecutor);
+			asyncExecutor = null;
+		}
 		if (restTemplate != null) {
 			if (hasUsernameAndPassword(jiraConnectionProperties)) {
 				restTemplate.delete(restUrl("/rest/auth/1/session"));
 			}
 			restTemplate = null;
 		}
+		if (httpTrafficCounter != null) {
+			log.info("[{}] received {} responses with {} bytes ({} bytes decoded)", url,
+				httpTrafficCounter.getResponses(), httpTrafficCounter.getWireBytes(), httpTrafficCounter.getContentBytes());
+			httpTrafficCounter = null;
+		}
+		if (rateLimiter != null) {
+			log.info("[{}] {} of {} responses were throttled, final concurrency limit: {}, final requests per second: {}", url,
+				rateLimiter.getThrottledResponses(), rateLimiter.getRequests(), rateLimiter.getConcurrencyLimit(), rateLimiter.getRequestsPerSecond());
+			rateLimiter = null;
+		}
+		if (requestRetrier != null) {
+			log.info("[{}] {} requests were retried", url, requestRetrier.getRetries());
+			requestRetrier = null;
+		}
 		jiraConnectionProperties = null;
 		restTemplate = null;
 		url = null;
+		if (httpClient != null) {
+			try {
+				httpClient.close();
+			} catch (IOException e) {
+				log.warn("Failed to close http client", e);
+			}
+			httpClient = null;
+		}
 		if (sshProxy != null) {
 			sshProxy.close();
 			sshProxy = null;
 		}
 	}
 
+	private void shutDown(ExecutorService executor) {
+		executor.shutdown();
+		try {
+			if (!executor.awaitTermination(EXECUTOR_TERMINATION_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+				log.warn("[{}] cancelling requests that are still running after {} seconds", url, EXECUTOR_TERMINATION_TIMEOUT_SECONDS);
+				executor.shutdownNow();
+			}
+		} catch (InterruptedException e) {
+			executor.shutdownNow();
+			Thread.currentThread().interrupt();
+		}
+	}
+
 	@Override
 	@PreDestroy
 	public void close() {
@@ -230,12 +389,39 @@ public class JiraServiceRestClient implements JiraService {
 		return getForObject("/rest/api/2/issue/{key}", JiraIssue.class, issueKey);
 	}
 
+	@Override
+	public JiraIssue getIssueByKey(String issueKey, JiraIssueProjection projection) {
+		validateIssueKey(issueKey);
+		String fieldsToFetch = getFieldsToFetch(projection.getCustomFields(), projection.isIncludeComments());
+		return getForObject("/rest/api/2/issue/{key}?fields={fieldsToFetch}", JiraIssue.class, issueKey, fieldsToFetch);
+	}
+
 	@Override
 	public JiraIssue getIssueByKeyWithChangelog(String issueKey) {
 		validateIssueKey(issueKey);
 		return getForObject("/rest/api/2/issue/{key}?expand=changelog", JiraIssue.class, issueKey);
 	}
 
+	@Override
+	public List<JiraIssue> getIssuesByKeys(Collection<String> keys, JiraIssueProjection projection) {
+		if (keys.isEmpty()) {
+			return Collections.emptyList();
+		}
+		keys.forEach(this::validateIssueKey);
+		List<String> issueKeys = new ArrayList<>(new LinkedHashSet<>(keys));
+		String fieldsToFetch = getFieldsToFetch(projection.getCustomFields(), projection.isIncludeComments());
+		List<JiraIssue> issues = new ArrayList<>();
+		for (int fromIndex = 0; fromIndex < issueKeys.size(); fromIndex += MAX_KEYS_PER_SEARCH) {
+			List<String> chunk = issueKeys.subList(fromIndex, Math.min(fromIndex + MAX_KEYS_PER_SEARCH, issueKeys.size()));
+			String jql = "key in (" + String.join(",", chunk) + ")";
+			log.debug("[{}] fetching {} issues by JQL '{}'", getUrl(), chunk.size(), jql);
+			JiraSearchResult searchResult = getForObject("/rest/api/2/search?jql={jql}&fields={fieldsToFetch}&maxResults={maxResults}&validateQuery=false",
+				JiraSearchResult.class, jql, fieldsToFetch, chunk.size());
+			issues.addAll(searchResult.getIssues());
+		}
+		return issues;
+	}
+
 	@Override
 	@Cacheable(value = CACHE_NAME_FIELD_ALLOWED_VALUES, key = "{ #root.target.url, #projectKey, #customFieldId }")
 	@SuppressWarnings("unchecked")
@@ -284,7 +470,9 @@ public class JiraServiceRestClient implements JiraService {
 	public List<JiraVersion> getVersions(String projectKey) {
 		validateProjectKey(projectKey);
 		log.debug("[{}] fetching versions for project {}", getUrl(), projectKey);
-		return getForObject("/rest/api/2/project/{key}/versions", JiraVersionsList.class, projectKey);
+		JiraVersionsList versions = getForObject("/rest/api/2/project/{key}/versions", JiraVersionsList.class, projectKey);
+		versions.getResourcesByName();
+		return versions;
 	}
 
 	@Override
@@ -292,7 +480,9 @@ public class JiraServiceRestClient implements JiraService {
 	public List<JiraComponent> getComponents(String projectKey) {
 		validateProjectKey(projectKey);
 		log.debug("[{}] fetching components for project {}", getUrl(), projectKey);
-		return getForObject("/rest/api/2/project/{key}/components", JiraComponentsList.class, projectKey);
+		JiraComponentsList components = getForObject("/rest/api/2/project/{key}/components", JiraComponentsList.class, projectKey);
+		components.getResourcesByName();
+		return components;
 	}
 
 	@Override
@@ -312,59 +502,75 @@ public class JiraServiceRestClient implements JiraService {
 	@Override
 	@Cacheable(value = CACHE_NAME_FIELDS, key = "#root.target.url")
 	public List<JiraField> getFields() {
+		return fetchFields();
+	}
+
+	private List<JiraField> fetchFields() {
 		log.debug("[{}] fetching fields", getUrl());
 		return getForObject("/rest/api/2/field", JiraFieldList.class);
 	}
 
 	@Override
-	public List<JiraIssue> getIssuesByFilterId(String filterId, Collection<String> customFields) {
-		return getIssuesByFilterId(filterId, customFields, DEFAULT_PAGE_SIZE);
+	public Stream<JiraIssue> streamIssuesByFilterId(String filterId, JiraIssueProjection projection, String additionalJql) {
+		return streamIssuesByFilterId(filterId, projection, additionalJql, DEFAULT_PAGE_SIZE);
 	}
 
 	List<JiraIssue> getIssuesByFilterId(String filterId, Collection<String> customFields, long pageSize) {
+		return streamIssuesByFilterId(filterId, customFields, null, pageSize).collect(Collectors.toList());
+	}
+
+	Stream<JiraIssue> streamIssuesByFilterId(String filterId, Collection<String> customFields, String additionalJql, long pageSize) {
+		return streamIssuesByFilterId(filterId, new JiraIssueProjection(customFields, true), additionalJql, pageSize);
+	}
+
+	Stream<JiraIssue> streamIssuesByFilterId(String filterId, JiraIssueProjection projection, String additionalJql, long pageSize) {
 		log.debug("fetching filter {}", filterId);
 		JiraFilterResult filter = getForObject("/rest/api/2/filter/{id}", JiraFilterResult.class, filterId);
-		log.debug("fetching issues by JQL '{}'", filter.getJql());
-		String fieldsToFetch = getFieldsToFetch(customFields);
-
-		List<JiraIssue> allIssues = new ArrayList<>();
-
-		int pageNumber = 0;
-		long totalResults;
-		do {
-			Assert.isTrue(pageNumber < MAX_PAGES, "Unexpected high page number: " + pageNumber);
-			JiraSearchResult searchResult = getForObject("/rest/api/2/search?jql={jql}&fields={fieldsToFetch}&startAt={startAt}&maxResults={pageSize}",
-				JiraSearchResult.class, filter.getJql(), fieldsToFetch, pageNumber * pageSize, pageSize);
-			allIssues.addAll(searchResult.getIssues());
-			totalResults = searchResult.getTotal();
-			pageNumber++;
-			int numPages = (int) Math.ceil(totalResults / (double) pageSize);
-			log.info("got {}/{} issues (page {}/{})", allIssues.size(), totalResults, pageNumber, numPages);
-		} while (pageNumber * pageSize < totalResults);
-		return allIssues;
-	}
-
-	private String getFieldsToFetch(Collection<String> customFields) {
+		String jql = JqlUtils.orderByKey(JqlUtils.restrict(filter.getJql(), additionalJql));
+		// the sync updates issues of the result, which would move other issues between pages fetched by offset later on
+		List<String> issueKeys = fetchIssueKeys(jql, pageSize);
+		if (issueKeys.isEmpty()) {
+			return Stream.empty();
+		}
+
+		String fieldsToFetch = getFieldsToFetch(projection.getCustomFields(), projection.isIncludeComments());
+		String searchUrl = "/rest/api/2/search?jql={jql}&fields={fieldsToFetch}&maxResults={maxResults}&validateQuery=false"
+			+ (projection.isIncludeChangelog() ? "&expand=changelog" : "");
+
+		long keysPerPage = Math.min(pageSize, MAX_KEYS_PER_SEARCH);
+		JiraIssuePageIterator issueIterator = new JiraIssuePageIterator(startAt -> {
+			List<String> pageKeys = issueKeys.subList((int) startAt, (int) Math.min(startAt + keysPerPage, issueKeys.size()));
+			String pageJql = "key in (" + String.join(",", pageKeys) + ")";
+			JiraSearchResult searchResult = getForObject(searchUrl, JiraSearchResult.class, pageJql, fieldsToFetch, pageKeys.size());
+			searchResult.setTotal(issueKeys.size());
+			return searchResult;
+		}, keysPerPage, searchExecutor, jiraConnectionProperties.getMaxConcurrentSearchRequests());
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(issueIterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+	}
+
+	private List<String> fetchIssueKeys(String jql, long pageSize) {
+		log.debug("fetching issue keys by JQL '{}'", jql);
+		JiraIssuePageIterator keyIterator = new JiraIssuePageIterator(startAt ->
+			getForObject("/rest/api/2/search?jql={jql}&fields=key&startAt={startAt}&maxResults={pageSize}", JiraSearchResult.class, jql, startAt, pageSize),
+			pageSize, null, 1);
+		List<String> issueKeys = new ArrayList<>();
+		keyIterator.forEachRemaining(issue -> issueKeys.add(issue.getKey()));
+		return issueKeys;
+	}
+
+	private String getFieldsToFetch(Collection<String> customFields, boolean includeComments) {
 		List<String> fieldsToFetch = new ArrayList<>();
 		for (WellKnownJiraField knownJiraField : WellKnownJiraField.values()) {
-			fieldsToFetch.add(knownJiraField.getFieldName());
+			if (knownJiraField != WellKnownJiraField.COMMENT || includeComments) {
+				fieldsToFetch.add(knownJiraField.getFieldName());
+			}
 		}
-		List<JiraField> fields = getFields();
 		for (String field : customFields) {
-			fieldsToFetch.add(findFieldId(fields, field));
+			fieldsToFetch.add(findField(field).getId());
 		}
 		return String.join(",", fieldsToFetch);
 	}
 
-	private String findFieldId(List<JiraField> fields, String fieldName) {
-		for (JiraField field : fields) {
-			if (field.getName().equals(fieldName)) {
-				return field.getId();
-			}
-		}
-		throw new JiraSyncException("Field '" + fieldName + "' not found in " + this);
-	}
-
 	private <T> T getForObject(String url, Class<T> responseType, Object... urlVariables) {
 		return restTemplate.getForObject(restUrl(url), responseType, urlVariables);
 	}
@@ -376,6 +582,13 @@ public class JiraServiceRestClient implements JiraService {
 		return getForObject("/rest/api/2/issue/{issueId}/remotelink", JiraRemoteLinks.class, issueKey);
 	}
 
+	@Override
+	@Cacheable(value = CACHE_NAME_CHANGELOGS, key = "{ #root.target.url, #issueKey, #issueUpdated }")
+	public JiraChangeLog getChangelog(String issueKey, Instant issueUpdated) {
+		log.debug("[{}] fetching changelog of {}", getUrl(), issueKey);
+		return getIssueByKeyWithChangelog(issueKey).getChangelog();
+	}
+
 	@Override
 	public List<JiraTransition> getTransitions(String issueKey) {
 		validateIssueKey(issueKey);
@@ -383,6 +596,19 @@ public class JiraServiceRestClient implements JiraService {
 		return transitions.getTransitions();
 	}
 
+	@Override
+	@Cacheable(value = CACHE_NAME_TRANSITIONS, key = TRANSITIONS_CACHE_KEY)
+	public List<JiraTransition> getTransitionsForWorkflowState(JiraIssue issue) {
+		log.debug("[{}] fetching transitions of {} in status {}", getUrl(), issue, issue.getFields().getStatus());
+		return getTransitions(issue.getKey());
+	}
+
+	@Override
+	@CacheEvict(value = CACHE_NAME_TRANSITIONS, key = TRANSITIONS_CACHE_KEY)
+	public void evictTransitionsForWorkflowState(JiraIssue issue) {
+		log.debug("[{}] evicted cached transitions of {}", getUrl(), issue);
+	}
+
 	@Override
 	public JiraIssue createIssue(JiraIssue issue) {
 		JiraIssue createdIssue = restTemplate.postForObject(restUrl("/rest/api/2/issue"), issue, JiraIssue.class);
@@ -390,6 +616,54 @@ public class JiraServiceRestClient implements JiraService {
 		return createdIssue;
 	}
 
+	@Override
+	public JiraIssueBulkCreateResponse createIssues(List<JiraIssue> issues) {
+		Assert.notEmpty(issues, "issues must not be empty");
+		JiraIssueBulkCreateRequest request = new JiraIssueBulkCreateRequest(issues);
+		JiraIssueBulkCreateResponse response;
+		try {
+			response = restTemplate.postForObject(restUrl("/rest/api/2/issue/bulk"), request, JiraIssueBulkCreateResponse.class);
+		} catch (JiraClientErrorException e) {
+			// Jira answers with 400 if none of the issues could be created but still lists the errors per element
+			if (e.getStatusCode() != HttpStatus.BAD_REQUEST) {
+				throw e;
+			}
+			response = readResponseBody(e, JiraIssueBulkCreateResponse.class);
+			if (response == null || response.getErrors().isEmpty()) {
+				throw e;
+			}
+		}
+		log.debug("created {} issues, {} errors", response.getIssues().size(), response.getErrors().size());
+		return response;
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> T readResponseBody(JiraClientErrorException e, Class<T> responseType) {
+		HttpInputMessage responseMessage = new HttpInputMessage() {
+			@Override
+			public InputStream getBody() {
+				return new ByteArrayInputStream(e.getResponseBody());
+			}
+
+			@Override
+			public HttpHeaders getHeaders() {
+				return e.getResponseHeaders();
+			}
+		};
+		MediaType contentType = e.getResponseHeaders().getContentType();
+		for (HttpMessageConverter<?> messageConverter : restTemplate.getMessageConverters()) {
+			if (messageConverter.canRead(responseType, contentType)) {
+				try {
+					return ((HttpMessageConverter<T>) messageConverter).read(responseType, responseMessage);
+				} catch (IOException | HttpMessageNotReadableException readException) {
+					log.debug("[{}] failed to read error response as {}", getUrl(), responseType.getSimpleName(), readException);
+					return null;
+				}
+			}
+		}
+		return null;
+	}
+
 	@Override
 	@CacheEvict(cacheNames = CACHE_NAME_REMOTE_LINKS, allEntries = true)
 	public void addRemoteLink(JiraIssue fromIssue, JiraIssue toIssue, JiraService toJiraService, URL remoteLinkIcon) {
@@ -421,6 +695,45 @@ public class JiraServiceRestClient implements JiraService {
 		restTemplate.put(restUrl("/rest/api/2/issue/{issueId}/comment/{commentId}"), comment, issueKey, commentId);
 	}
 
+	@Override
+	public void writeComments(String issueKey, Map<String, String> commentTextsById, List<String> newCommentTexts) {
+		if (commentExecutor == null) {
+			JiraService.super.writeComments(issueKey, commentTextsById, newCommentTexts);
+			return;
+		}
+		List<Future<?>> pendingRequests = new ArrayList<>();
+		commentTextsById.forEach((commentId, commentText) ->
+			pendingRequests.add(commentExecutor.submit(() -> updateComment(issueKey, commentId, commentText))));
+		if (!newCommentTexts.isEmpty()) {
+			pendingRequests.add(commentExecutor.submit(() -> {
+				for (String commentText : newCommentTexts) {
+					addComment(issueKey, commentText);
+				}
+			}));
+		}
+		awaitAll(pendingRequests);
+	}
+
+	private static void awaitAll(List<Future<?>> futures) {
+		RuntimeException failure = null;
+		for (Future<?> future : futures) {
+			try {
+				future.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new JiraSyncException("Interrupted while waiting for comment requests", e);
+			} catch (ExecutionException e) {
+				if (failure == null) {
+					Throwable cause = e.getCause();
+					failure = cause instanceof RuntimeException ? (RuntimeException) cause : new JiraSyncException("Comment request failed", cause);
+				}
+			}
+		}
+		if (failure != null) {
+			throw failure;
+		}
+	}
+
 	@Override
 	public void updateIssue(String issueKey, JiraIssueUpdate issueUpdate) {
 		validateIssueKey(issueKey);
@@ -452,24 +765,49 @@ public class JiraServiceRestClient implements JiraService {
 
 	@Override
 	public JiraField findField(String fieldName) {
-		List<JiraField> fields = getFields();
-		for (JiraField field : fields) {
-			if (field.getName().equals(fieldName)) {
-				return field;
-			}
+		JiraField field = getFieldRegistry().findByName(fieldName);
+		if (field == null) {
+			throw new JiraSyncException("Field '" + fieldName + "' not found in " + this);
 		}
-		throw new JiraSyncException("Field '" + fieldName + "' not found in " + this);
+		return field;
 	}
 
 	@Override
 	public JiraField findFieldById(String id) {
-		List<JiraField> fields = getFields();
-		for (JiraField field : fields) {
-			if (field.getId().equals(id)) {
-				return field;
+		JiraField field = getFieldRegistry().findById(id);
+		if (field == null) {
+			throw new JiraSyncException("Field '" + id + "' not found in " + this);
+		}
+		return field;
+	}
+
+	@Override
+	public WellKnownCustomFieldType getCustomFieldType(JiraField field) {
+		return getFieldRegistry().getCustomFieldType(field);
+	}
+
+	private JiraFieldRegistry getFieldRegistry() {
+		// cached next to the fields, so that it expires and is evicted together with them
+		Cache fieldsCache = cacheManager.getCache(CACHE_NAME_FIELDS);
+		Assert.notNull(fieldsCache, "cache '" + CACHE_NAME_FIELDS + "' is missing");
+		// same entry as getFields(), which a self-call would fetch again bypassing the cache
+		List<JiraField> fields = getOrLoad(fieldsCache, getUrl(), this::fetchFields);
+		return getOrLoad(fieldsCache, Arrays.asList(getUrl(), FIELD_REGISTRY_CACHE_KEY), () -> {
+			JiraFieldRegistry registry = new JiraFieldRegistry(fields);
+			log.debug("[{}] indexed {} fields", getUrl(), registry.size());
+			return registry;
+		});
+	}
+
+	private static <T> T getOrLoad(Cache cache, Object key, Callable<T> valueLoader) {
+		try {
+			return cache.get(key, valueLoader);
+		} catch (Cache.ValueRetrievalException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
 			}
+			throw e;
 		}
-		throw new JiraSyncException("Field '" + id + "' not found in " + this);
 	}
 
 	private static void validateUrl(String url) {
@@ -486,6 +824,25 @@ public class JiraServiceRestClient implements JiraService {
 		return source;
 	}
 
+	@Override
+	public Executor getAsyncExecutor() {
+		return asyncExecutor;
+	}
+
+	/**
+	 * @return the rate limiter of the current login, or {@code null} if rate limiting is disabled
+	 */
+	public JiraRateLimiter getRateLimiter() {
+		return rateLimiter;
+	}
+
+	/**
+	 * @return the request retrier of the current login, or {@code null} if retries are disabled
+	 */
+	public JiraRequestRetrier getRequestRetrier() {
+		return requestRetrier;
+	}
+
 	@Override
 	public String toString() {
 		return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
@@ -0,0 +1,59 @@
+package de.cronn.jira.sync.service;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.util.StringUtils;
+
+final class JqlUtils {
+
+	private static final Pattern ORDER_BY_PATTERN = Pattern.compile("\\s*\\border\\s+by\\b", Pattern.CASE_INSENSITIVE);
+	static final String ORDER_BY_KEY = "ORDER BY key ASC";
+
+	private JqlUtils() {
+	}
+
+	static String restrict(String jql, String restriction) {
+		if (!StringUtils.hasText(restriction)) {
+			return jql;
+		}
+
+		String query = jql;
+		String orderBy = "";
+		int orderByIndex = findOrderByClause(jql);
+		if (orderByIndex >= 0) {
+			query = jql.substring(0, orderByIndex);
+			orderBy = " " + jql.substring(orderByIndex).trim();
+		}
+
+		if (!StringUtils.hasText(query)) {
+			return restriction + orderBy;
+		}
+		return "(" + query.trim() + ") AND " + restriction + orderBy;
+	}
+
+	/**
+	 * Replaces the ordering of the query with the issue key, which does not change when an issue is updated
+	 */
+	static String orderByKey(String jql) {
+		String query = jql;
+		int orderByIndex = findOrderByClause(jql);
+		if (orderByIndex >= 0) {
+			query = jql.substring(0, orderByIndex);
+		}
+		if (!StringUtils.hasText(query)) {
+			return ORDER_BY_KEY;
+		}
+		return query.trim() + " " + ORDER_BY_KEY;
+	}
+
+	private static int findOrderByClause(String jql) {
+		Matcher matcher = ORDER_BY_PATTERN.matcher(jql);
+		int index = -1;
+		while (matcher.find()) {
+			index = matcher.start();
+		}
+		return index;
+	}
+
+}
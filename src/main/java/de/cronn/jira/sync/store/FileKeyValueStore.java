@@ -0,0 +1,166 @@
+package de.cronn.jira.sync.store;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+import de.cronn.jira.sync.JiraSyncException;
+
+public class FileKeyValueStore implements Closeable {
+
+	private static final Logger log = LoggerFactory.getLogger(FileKeyValueStore.class);
+
+	private static final char SEPARATOR = '\t';
+
+	private final Path file;
+	private final Map<String, String> entries = new ConcurrentHashMap<>();
+	private BufferedWriter writer;
+
+	private FileKeyValueStore(Path file) {
+		this.file = file;
+	}
+
+	public static FileKeyValueStore open(Path file) {
+		FileKeyValueStore store = new FileKeyValueStore(file);
+		try {
+			store.load();
+			store.compact();
+		} catch (IOException e) {
+			throw new JiraSyncException("Failed to open store " + file.toAbsolutePath(), e);
+		}
+		return store;
+	}
+
+	public String get(String key) {
+		return entries.get(key);
+	}
+
+	public Map<String, String> getAll() {
+		return Collections.unmodifiableMap(entries);
+	}
+
+	public synchronized void put(String key, String value) {
+		validate(key);
+		validate(value);
+		Assert.hasLength(value, "value must not be empty");
+		if (value.equals(entries.put(key, value))) {
+			return;
+		}
+		append(key, value);
+	}
+
+	public synchronized void remove(String key) {
+		if (entries.remove(key) != null) {
+			append(key, "");
+		}
+	}
+
+	public synchronized void clear() {
+		entries.clear();
+		try {
+			compact();
+		} catch (IOException e) {
+			throw new JiraSyncException("Failed to clear store " + file.toAbsolutePath(), e);
+		}
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	@Override
+	public synchronized void close() {
+		if (writer != null) {
+			try {
+				writer.close();
+			} catch (IOException e) {
+				log.warn("Failed to close store {}", file.toAbsolutePath(), e);
+			}
+			writer = null;
+		}
+	}
+
+	private void load() throws IOException {
+		if (!Files.exists(file)) {
+			return;
+		}
+		List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+		boolean lastLineComplete = endsWithNewline();
+		for (int i = 0; i < lines.size(); i++) {
+			String line = lines.get(i);
+			boolean lastLine = i == lines.size() - 1;
+			int separatorIndex = line.indexOf(SEPARATOR);
+			if (separatorIndex < 0 || (lastLine && !lastLineComplete)) {
+				log.warn("Ignoring incomplete line {} in {}", i + 1, file.toAbsolutePath());
+				continue;
+			}
+			String key = line.substring(0, separatorIndex);
+			String value = line.substring(separatorIndex + 1);
+			if (value.isEmpty()) {
+				entries.remove(key);
+			} else {
+				entries.put(key, value);
+			}
+		}
+	}
+
+	private boolean endsWithNewline() throws IOException {
+		byte[] content = Files.readAllBytes(file);
+		return content.length == 0 || content[content.length - 1] == '\n';
+	}
+
+	private void compact() throws IOException {
+		close();
+		Path directory = file.toAbsolutePath().getParent();
+		Files.createDirectories(directory);
+		Path tempFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+		try (BufferedWriter tempWriter = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+			for (Map.Entry<String, String> entry : entries.entrySet()) {
+				writeLine(tempWriter, entry.getKey(), entry.getValue());
+			}
+		}
+		try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+			channel.force(true);
+		}
+		Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+	}
+
+	private void append(String key, String value) {
+		Assert.state(writer != null, "store " + file + " is closed");
+		try {
+			writeLine(writer, key, value);
+			writer.flush();
+		} catch (IOException e) {
+			throw new JiraSyncException("Failed to write to store " + file.toAbsolutePath(), e);
+		}
+	}
+
+	private static void writeLine(BufferedWriter writer, String key, String value) throws IOException {
+		writer.write(key);
+		writer.write(SEPARATOR);
+		writer.write(value);
+		writer.write('\n');
+	}
+
+	private static void validate(String keyOrValue) {
+		Assert.notNull(keyOrValue, "key and value must not be null");
+		Assert.isTrue(keyOrValue.indexOf(SEPARATOR) < 0 && keyOrValue.indexOf('\n') < 0 && keyOrValue.indexOf('\r') < 0,
+			"key and value must not contain tabs or line breaks: '" + keyOrValue + "'");
+	}
+
+}
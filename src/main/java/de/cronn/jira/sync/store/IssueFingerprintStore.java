@@ -0,0 +1,89 @@
+package de.cronn.jira.sync.store;
+
+import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import de.cronn.jira.sync.JiraSyncException;
+import de.cronn.jira.sync.config.JiraProjectSync;
+import de.cronn.jira.sync.config.JiraSyncConfig;
+import de.cronn.jira.sync.domain.JiraIssue;
+import de.cronn.jira.sync.service.JiraService;
+
+/**
+ * Remembers a hash of the source issue, the target issue and the sync configuration for issue pairs whose last sync found no changes.
+ */
+@Component
+public class IssueFingerprintStore extends StateStore {
+
+	static final String FILE_NAME = "issue-fingerprints";
+
+	private final JiraSyncConfig jiraSyncConfig;
+	private final ObjectMapper objectMapper;
+	private final Clock clock;
+
+	public IssueFingerprintStore(JiraSyncConfig jiraSyncConfig, ObjectMapper objectMapper, Clock clock) {
+		super(jiraSyncConfig, FILE_NAME);
+		this.jiraSyncConfig = jiraSyncConfig;
+		this.objectMapper = objectMapper;
+		this.clock = clock;
+	}
+
+	public boolean isEnabled() {
+		return jiraSyncConfig.getFingerprints().isEnabled();
+	}
+
+	public String computeFingerprint(JiraIssue sourceIssue, JiraIssue targetIssue, JiraProjectSync projectSync) {
+		if (!isEnabled()) {
+			return null;
+		}
+		Map<String, Object> state = new LinkedHashMap<>();
+		state.put("source", sourceIssue);
+		state.put("target", targetIssue);
+		state.put("projectSync", projectSync);
+		state.put("priorityMapping", jiraSyncConfig.getPriorityMapping());
+		state.put("issueTypeMapping", jiraSyncConfig.getIssueTypeMapping());
+		state.put("resolutionMapping", jiraSyncConfig.getResolutionMapping());
+		state.put("fieldMapping", jiraSyncConfig.getFieldMapping());
+		state.put("descriptionMapping", jiraSyncConfig.getDescriptionMapping());
+		state.put("commentMapping", jiraSyncConfig.getCommentMapping());
+		state.put("zone", clock.getZone().getId());
+		try {
+			return DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(state));
+		} catch (JsonProcessingException e) {
+			throw new JiraSyncException("Failed to compute fingerprint of " + sourceIssue.getKey(), e);
+		}
+	}
+
+	public boolean hasFingerprint(JiraService jiraSource, JiraIssue sourceIssue, JiraService jiraTarget, JiraIssue targetIssue, String fingerprint) {
+		if (!isEnabled() || fingerprint == null) {
+			return false;
+		}
+		return fingerprint.equals(getStore().get(createKey(jiraSource, sourceIssue, jiraTarget, targetIssue)));
+	}
+
+	public void putFingerprint(JiraService jiraSource, JiraIssue sourceIssue, JiraService jiraTarget, JiraIssue targetIssue, String fingerprint) {
+		if (!isEnabled() || fingerprint == null) {
+			return;
+		}
+		getStore().put(createKey(jiraSource, sourceIssue, jiraTarget, targetIssue), fingerprint);
+	}
+
+	public void removeFingerprint(JiraService jiraSource, JiraIssue sourceIssue, JiraService jiraTarget, JiraIssue targetIssue) {
+		if (!isEnabled()) {
+			return;
+		}
+		getStore().remove(createKey(jiraSource, sourceIssue, jiraTarget, targetIssue));
+	}
+
+	private static String createKey(JiraService jiraSource, JiraIssue sourceIssue, JiraService jiraTarget, JiraIssue targetIssue) {
+		return jiraSource.getUrl() + " " + sourceIssue.getKey() + " " + jiraTarget.getUrl() + " " + targetIssue.getKey();
+	}
+
+}
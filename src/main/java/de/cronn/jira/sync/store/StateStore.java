@@ -0,0 +1,43 @@
+package de.cronn.jira.sync.store;
+
+import java.nio.file.Paths;
+
+import javax.annotation.PreDestroy;
+
+import de.cronn.jira.sync.config.JiraSyncConfig;
+
+/**
+ * Base class of components that keep their state in a {@link FileKeyValueStore} in the state directory, which is opened on first use.
+ */
+public abstract class StateStore {
+
+	private final JiraSyncConfig jiraSyncConfig;
+	private final String fileName;
+
+	private FileKeyValueStore store;
+
+	protected StateStore(JiraSyncConfig jiraSyncConfig, String fileName) {
+		this.jiraSyncConfig = jiraSyncConfig;
+		this.fileName = fileName;
+	}
+
+	protected synchronized FileKeyValueStore getStore() {
+		if (store == null) {
+			store = FileKeyValueStore.open(Paths.get(jiraSyncConfig.getState().getDirectory(), fileName));
+			opened(store);
+		}
+		return store;
+	}
+
+	protected void opened(FileKeyValueStore store) {
+	}
+
+	@PreDestroy
+	public synchronized void close() {
+		if (store != null) {
+			store.close();
+			store = null;
+		}
+	}
+
+}
@@ -0,0 +1,44 @@
+package de.cronn.jira.sync.store;
+
+import java.time.Instant;
+
+import org.springframework.stereotype.Component;
+
+import de.cronn.jira.sync.config.JiraSyncConfig;
+
+@Component
+public class SyncWatermarkStore extends StateStore {
+
+	static final String FILE_NAME = "sync-watermarks";
+
+	private static final String LAST_SYNC_SUFFIX = ".lastSync";
+	private static final String LAST_FULL_SYNC_SUFFIX = ".lastFullSync";
+
+	public SyncWatermarkStore(JiraSyncConfig jiraSyncConfig) {
+		super(jiraSyncConfig, FILE_NAME);
+	}
+
+	public Instant getLastSync(String syncId) {
+		return getInstant(syncId + LAST_SYNC_SUFFIX);
+	}
+
+	public Instant getLastFullSync(String syncId) {
+		return getInstant(syncId + LAST_FULL_SYNC_SUFFIX);
+	}
+
+	public synchronized void recordSuccessfulSync(String syncId, Instant syncStart, boolean fullSync) {
+		if (fullSync) {
+			getStore().put(syncId + LAST_FULL_SYNC_SUFFIX, syncStart.toString());
+		}
+		getStore().put(syncId + LAST_SYNC_SUFFIX, syncStart.toString());
+	}
+
+	private synchronized Instant getInstant(String key) {
+		String value = getStore().get(key);
+		if (value == null) {
+			return null;
+		}
+		return Instant.parse(value);
+	}
+
+}
@@ -1,19 +1,30 @@
 package de.cronn.jira.sync.strategy;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
+import org.springframework.util.CollectionUtils;
 
+import de.cronn.jira.sync.JiraSyncException;
 import de.cronn.jira.sync.config.JiraProjectSync;
 import de.cronn.jira.sync.config.JiraSyncConfig;
+import de.cronn.jira.sync.domain.JiraBulkOperationError;
 import de.cronn.jira.sync.domain.JiraComment;
 import de.cronn.jira.sync.domain.JiraComments;
 import de.cronn.jira.sync.domain.JiraIssue;
+import de.cronn.jira.sync.domain.JiraIssueBulkCreateResponse;
 import de.cronn.jira.sync.domain.JiraIssueType;
 import de.cronn.jira.sync.domain.JiraPriority;
 import de.cronn.jira.sync.domain.JiraProject;
@@ -27,6 +38,7 @@ import de.cronn.jira.sync.mapping.LabelMapper;
 import de.cronn.jira.sync.mapping.PriorityMapper;
 import de.cronn.jira.sync.mapping.SummaryMapper;
 import de.cronn.jira.sync.mapping.VersionMapper;
+import de.cronn.jira.sync.service.AsyncJiraService;
 import de.cronn.jira.sync.service.JiraService;
 
 @Component
@@ -103,6 +115,61 @@ public class CreateMissingTargetJiraIssueSyncStrategy implements MissingTargetJi
 
 	@Override
 	public SyncResult sync(JiraService jiraSource, JiraService jiraTarget, JiraIssue sourceIssue, JiraProjectSync projectSync) {
+		JiraIssue issueToCreate = createIssueToCreate(jiraSource, jiraTarget, sourceIssue, projectSync);
+		JiraIssue newIssue = jiraTarget.createIssue(issueToCreate);
+		return completeCreation(jiraSource, jiraTarget, sourceIssue, newIssue, projectSync);
+	}
+
+	@Override
+	public Map<String, JiraIssue> createIssues(JiraService jiraSource, JiraService jiraTarget, List<JiraIssue> sourceIssues, JiraProjectSync projectSync) {
+		Map<String, JiraIssue> createdIssues = new LinkedHashMap<>();
+		List<JiraIssue> sourceIssuesToCreate = new ArrayList<>();
+		List<JiraIssue> issuesToCreate = new ArrayList<>();
+		for (JiraIssue sourceIssue : sourceIssues) {
+			try {
+				issuesToCreate.add(createIssueToCreate(jiraSource, jiraTarget, sourceIssue, projectSync));
+				sourceIssuesToCreate.add(sourceIssue);
+			} catch (JiraSyncException e) {
+				log.error("Failed to map {}", sourceIssue, e);
+				createdIssues.put(sourceIssue.getKey(), null);
+			}
+		}
+		if (issuesToCreate.isEmpty()) {
+			return createdIssues;
+		}
+
+		JiraIssueBulkCreateResponse response = jiraTarget.createIssues(issuesToCreate);
+		Map<Integer, JiraBulkOperationError> errorsByElement = new HashMap<>();
+		for (JiraBulkOperationError error : response.getErrors()) {
+			errorsByElement.put(error.getFailedElementNumber(), error);
+		}
+		Iterator<JiraIssue> newIssues = response.getIssues().iterator();
+		for (int i = 0; i < sourceIssuesToCreate.size(); i++) {
+			JiraIssue sourceIssue = sourceIssuesToCreate.get(i);
+			JiraBulkOperationError error = errorsByElement.get(i);
+			if (error != null) {
+				log.error("Failed to create issue for {}: {}", sourceIssue.getKey(), error);
+				createdIssues.put(sourceIssue.getKey(), null);
+			} else {
+				Assert.state(newIssues.hasNext(), "Missing created issue for " + sourceIssue.getKey() + " in bulk response");
+				createdIssues.put(sourceIssue.getKey(), newIssues.next());
+			}
+		}
+		return createdIssues;
+	}
+
+	@Override
+	public SyncResult completeCreation(JiraService jiraSource, JiraService jiraTarget, JiraIssue sourceIssue, JiraIssue createdIssue, JiraProjectSync projectSync) {
+		linkIssues(jiraSource, jiraTarget, sourceIssue, projectSync, createdIssue);
+
+		if (projectSync.isCopyCommentsToTarget()) {
+			copyComments(sourceIssue, jiraSource, createdIssue, jiraTarget);
+		}
+
+		return SyncResult.CREATED;
+	}
+
+	private JiraIssue createIssueToCreate(JiraService jiraSource, JiraService jiraTarget, JiraIssue sourceIssue, JiraProjectSync projectSync) {
 		JiraProject targetProject = jiraTarget.getProjectByKey(projectSync.getTargetProject());
 		Assert.notNull(targetProject, "target project '" + projectSync.getTargetProject() + "' not found");
 		log.info("creating issue for {} in {}", sourceIssue.getKey(), targetProject);
@@ -117,15 +184,7 @@ public class CreateMissingTargetJiraIssueSyncStrategy implements MissingTargetJi
 		copyFixVersions(sourceIssue, issueToCreate, jiraTarget, projectSync);
 		copyComponents(sourceIssue, issueToCreate, jiraTarget, projectSync);
 		copyCustomFields(jiraSource, jiraTarget, sourceIssue, issueToCreate);
-
-		JiraIssue newIssue = jiraTarget.createIssue(issueToCreate);
-		linkIssues(jiraSource, jiraTarget, sourceIssue, projectSync, newIssue);
-
-		if (projectSync.isCopyCommentsToTarget()) {
-			copyComments(sourceIssue, jiraSource, newIssue, jiraTarget);
-		}
-
-		return SyncResult.CREATED;
+		return issueToCreate;
 	}
 
 	private void copyCustomFields(JiraService jiraSource, JiraService jiraTarget, JiraIssue sourceIssue, JiraIssue issueToCreate) {
@@ -137,8 +196,9 @@ public class CreateMissingTargetJiraIssueSyncStrategy implements MissingTargetJi
 	}
 
 	private void linkIssues(JiraService jiraSource, JiraService jiraTarget, JiraIssue sourceIssue, JiraProjectSync projectSync, JiraIssue newIssue) {
-		issueLinker.linkIssue(sourceIssue, newIssue, jiraSource, jiraTarget, projectSync.getRemoteLinkIconInSource());
-		issueLinker.linkIssue(newIssue, sourceIssue, jiraTarget, jiraSource, projectSync.getRemoteLinkIconInTarget());
+		CompletableFuture<Void> sourceLink = issueLinker.linkIssueAsync(sourceIssue, newIssue, jiraSource, jiraTarget, projectSync.getRemoteLinkIconInSource());
+		CompletableFuture<Void> targetLink = issueLinker.linkIssueAsync(newIssue, sourceIssue, jiraTarget, jiraSource, projectSync.getRemoteLinkIconInTarget());
+		AsyncJiraService.join(CompletableFuture.allOf(sourceLink, targetLink));
 	}
 
 	private void copyIssueType(JiraIssue sourceIssue, JiraProjectSync projectSync, JiraProject targetProject, JiraIssue issueToCreate) {
@@ -177,11 +237,12 @@ public class CreateMissingTargetJiraIssueSyncStrategy implements MissingTargetJi
 
 	private void copyComments(JiraIssue sourceIssue, JiraService jiraSource, JiraIssue newIssue, JiraService jiraTarget) {
 		JiraComments comment = sourceIssue.getFields().getComment();
-		if (comment != null && comment.getComments() != null) {
+		if (comment != null && !CollectionUtils.isEmpty(comment.getComments())) {
+			List<String> commentTexts = new ArrayList<>();
 			for (JiraComment jiraComment : comment.getComments()) {
-				String commentText = commentMapper.map(sourceIssue, jiraComment, jiraSource, false);
-				jiraTarget.addComment(newIssue.getKey(), commentText);
+				commentTexts.add(commentMapper.map(sourceIssue, jiraComment, jiraSource, false));
 			}
+			jiraTarget.writeComments(newIssue.getKey(), Collections.emptyMap(), commentTexts);
 		}
 	}
 
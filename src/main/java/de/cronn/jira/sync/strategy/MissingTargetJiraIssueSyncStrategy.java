@@ -1,5 +1,8 @@
 package de.cronn.jira.sync.strategy;
 
+import java.util.List;
+import java.util.Map;
+
 import org.springframework.util.Assert;
 
 import de.cronn.jira.sync.config.JiraProjectSync;
@@ -16,4 +19,11 @@ public interface MissingTargetJiraIssueSyncStrategy extends IssueSyncStrategy {
 
 	SyncResult sync(JiraService jiraSource, JiraService jiraTarget, JiraIssue sourceIssue, JiraProjectSync projectSync);
 
+	/**
+	 * @return the created issue per source issue key, or {@code null} for source issues that could not be created in bulk
+	 */
+	Map<String, JiraIssue> createIssues(JiraService jiraSource, JiraService jiraTarget, List<JiraIssue> sourceIssues, JiraProjectSync projectSync);
+
+	SyncResult completeCreation(JiraService jiraSource, JiraService jiraTarget, JiraIssue sourceIssue, JiraIssue createdIssue, JiraProjectSync projectSync);
+
 }
@@ -1,9 +1,11 @@
 package de.cronn.jira.sync.strategy;
 
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -12,6 +14,7 @@ import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -57,6 +60,8 @@ import de.cronn.jira.sync.mapping.NamedResourceMapper;
 import de.cronn.jira.sync.mapping.PriorityMapper;
 import de.cronn.jira.sync.mapping.ResolutionMapper;
 import de.cronn.jira.sync.mapping.VersionMapper;
+import de.cronn.jira.sync.service.AsyncJiraService;
+import de.cronn.jira.sync.service.JiraClientErrorException;
 import de.cronn.jira.sync.service.JiraService;
 
 @Component
@@ -159,7 +164,7 @@ public class UpdateExistingTargetJiraIssueSyncStrategy implements ExistingTarget
 	private void processTargetIssueUpdate(JiraService jiraTarget, JiraIssue targetIssue, JiraIssueUpdate targetIssueUpdate, JiraProjectSync projectSync) {
 		if (!targetIssueUpdate.isEmpty()) {
 			if (targetIssueUpdate.getTransition() != null) {
-				jiraTarget.transitionIssue(targetIssue.getKey(), targetIssueUpdate);
+				transitionIssue(jiraTarget, targetIssue, targetIssueUpdate);
 			} else {
 				if (shouldSkipUpdate(targetIssue, projectSync)) {
 					log.debug("skipping update of {} in status {}", targetIssue, targetIssue.getFields().getStatus().getName());
@@ -174,7 +179,7 @@ public class UpdateExistingTargetJiraIssueSyncStrategy implements ExistingTarget
 	private void processSourceIssueUpdate(JiraService jiraSource, JiraIssue sourceIssue, JiraIssueUpdate sourceIssueUpdate) {
 		if (!sourceIssueUpdate.isEmpty()) {
 			if (sourceIssueUpdate.getTransition() != null) {
-				jiraSource.transitionIssue(sourceIssue.getKey(), sourceIssueUpdate);
+				transitionIssue(jiraSource, sourceIssue, sourceIssueUpdate);
 			} else {
 				log.warn("Ignoring source issue update of {} without transition", sourceIssue);
 			}
@@ -192,14 +197,14 @@ public class UpdateExistingTargetJiraIssueSyncStrategy implements ExistingTarget
 			String fieldId = entry.getKey();
 			Object existingValue = targetIssue.getOrCreateFields().getOther().get(fieldId);
 			JiraField fieldInTarget = jiraTarget.findFieldById(fieldId);
-			if (!haveSameValue(fieldInTarget, existingValue, entry.getValue())) {
+			if (!haveSameValue(jiraTarget, fieldInTarget, existingValue, entry.getValue())) {
 				targetIssueUpdate.getOrCreateFields().setOther(fieldId, entry.getValue());
 			}
 		}
 	}
 
-	private boolean haveSameValue(JiraField fieldInTarget, Object existingValue, Object newValue) {
-		WellKnownCustomFieldType fieldType = WellKnownCustomFieldType.getByCustomSchema(fieldInTarget.getSchema());
+	private boolean haveSameValue(JiraService jiraTarget, JiraField fieldInTarget, Object existingValue, Object newValue) {
+		WellKnownCustomFieldType fieldType = jiraTarget.getCustomFieldType(fieldInTarget);
 		if (fieldType.equals(WellKnownCustomFieldType.SELECT)) {
 			return equalsCustomFieldSelect(existingValue, newValue);
 		} else {
@@ -233,34 +238,36 @@ public class UpdateExistingTargetJiraIssueSyncStrategy implements ExistingTarget
 
 		JiraComment latestCommentOnlyInTarget = findLatestCommentOnlyInTarget(targetToSourceAssociations);
 
-		updateExistingComments(sourceIssue, targetIssue, jiraSource, jiraTarget, targetToSourceAssociations);
+		Map<String, String> updatedCommentTexts = getUpdatedCommentTexts(sourceIssue, jiraSource, targetToSourceAssociations);
 
 		boolean behindTime = isCommentBehindTime(newCommentsInSource, latestCommentOnlyInTarget);
 
+		List<String> newCommentTexts = new ArrayList<>();
 		for (JiraComment commentInSource : newCommentsInSource) {
-			String commentText = commentMapper.map(sourceIssue, commentInSource, jiraSource, behindTime);
 			log.info("adding comment {}", commentInSource.getId());
-			jiraTarget.addComment(targetIssue.getKey(), commentText);
+			newCommentTexts.add(commentMapper.map(sourceIssue, commentInSource, jiraSource, behindTime));
+		}
+
+		if (!updatedCommentTexts.isEmpty() || !newCommentTexts.isEmpty()) {
+			jiraTarget.writeComments(targetIssue.getKey(), updatedCommentTexts, newCommentTexts);
 		}
 	}
 
-	private void updateExistingComments(JiraIssue sourceIssue, JiraIssue targetIssue, JiraService jiraSource, JiraService jiraTarget, Map<JiraComment, JiraComment> targetToSourceAssociations) {
+	private Map<String, String> getUpdatedCommentTexts(JiraIssue sourceIssue, JiraService jiraSource, Map<JiraComment, JiraComment> targetToSourceAssociations) {
+		Map<String, String> updatedCommentTexts = new LinkedHashMap<>();
 		for (Entry<JiraComment, JiraComment> entry : targetToSourceAssociations.entrySet()) {
 			JiraComment sourceComment = entry.getValue();
 			if (sourceComment != null) {
 				JiraComment targetComment = entry.getKey();
-				updateComment(sourceIssue, targetIssue, sourceComment, targetComment, jiraSource, jiraTarget);
+				boolean behindTime = commentMapper.wasAddedBehindTime(targetComment);
+				String commentText = commentMapper.map(sourceIssue, sourceComment, jiraSource, behindTime);
+				if (isNotEqual(commentText, targetComment.getBody())) {
+					log.info("updating comment {}", targetComment.getId());
+					updatedCommentTexts.put(targetComment.getId(), commentText);
+				}
 			}
 		}
-	}
-
-	private void updateComment(JiraIssue sourceIssue, JiraIssue targetIssue, JiraComment sourceComment, JiraComment targetComment, JiraService jiraSource, JiraService jiraTarget) {
-		boolean behindTime = commentMapper.wasAddedBehindTime(targetComment);
-		String commentText = commentMapper.map(sourceIssue, sourceComment, jiraSource, behindTime);
-		if (isNotEqual(commentText, targetComment.getBody())) {
-			log.info("updating comment {}", targetComment.getId());
-			jiraTarget.updateComment(targetIssue.getKey(), targetComment.getId(), commentText);
-		}
+		return updatedCommentTexts;
 	}
 
 	private JiraComment findLatestCommentOnlyInTarget(Map<JiraComment, JiraComment> targetToSourceAssociations) {
@@ -276,8 +283,15 @@ public class UpdateExistingTargetJiraIssueSyncStrategy implements ExistingTarget
 	private Map<JiraComment, JiraComment> associateComments(List<JiraComment> commentsInSource, List<JiraComment> commentsInTarget) {
 		Map<JiraComment, JiraComment> targetCommentToSourceComments = new LinkedHashMap<>();
 
+		Map<String, Integer> sourceCommentIndexById = new HashMap<>();
+		for (int i = 0; i < commentsInSource.size(); i++) {
+			String sourceCommentId = commentsInSource.get(i).getId();
+			Assert.hasText(sourceCommentId, "sourceCommentId must not be empty");
+			sourceCommentIndexById.putIfAbsent(sourceCommentId, i);
+		}
+
 		for (JiraComment commentInTarget : commentsInTarget) {
-			JiraComment commentInSource = findMatchingCommentInSourceIssue(commentInTarget, commentsInSource);
+			JiraComment commentInSource = findMatchingCommentInSourceIssue(commentInTarget, commentsInSource, sourceCommentIndexById);
 			targetCommentToSourceComments.put(commentInTarget, commentInSource);
 		}
 		return targetCommentToSourceComments;
@@ -307,13 +321,15 @@ public class UpdateExistingTargetJiraIssueSyncStrategy implements ExistingTarget
 			.collect(Collectors.toList());
 	}
 
-	private JiraComment findMatchingCommentInSourceIssue(JiraComment commentInTarget, List<JiraComment> commentsInSource) {
-		for (JiraComment commentInSource : commentsInSource) {
-			if (commentMapper.isMapped(commentInSource, commentInTarget.getBody())) {
-				return commentInSource;
+	private JiraComment findMatchingCommentInSourceIssue(JiraComment commentInTarget, List<JiraComment> commentsInSource, Map<String, Integer> sourceCommentIndexById) {
+		int matchingIndex = -1;
+		for (String sourceCommentId : commentMapper.getMappedCommentIds(commentInTarget.getBody())) {
+			Integer index = sourceCommentIndexById.get(sourceCommentId);
+			if (index != null && (matchingIndex < 0 || index < matchingIndex)) {
+				matchingIndex = index;
 			}
 		}
-		return null;
+		return matchingIndex < 0 ? null : commentsInSource.get(matchingIndex);
 	}
 
 	private void processTransition(JiraService jiraSource, JiraService jiraTarget, JiraIssue sourceIssue, JiraIssue targetIssue, JiraProjectSync projectSync, JiraIssueUpdate sourceIssueUpdate, JiraIssueUpdate targetIssueUpdate) {
@@ -467,9 +483,11 @@ public class UpdateExistingTargetJiraIssueSyncStrategy implements ExistingTarget
 
 	private boolean isLeftStatusTransitionNewer(JiraIssue leftIssue, JiraIssue rightIssue, JiraService leftJiraService,
 												JiraService rightJiraService, TransitionConfig transition) {
-		ZonedDateTime latestStatusTransitionLeft = getLatestStatusTransitionDate(leftIssue, leftJiraService);
+		CompletableFuture<ZonedDateTime> latestStatusTransitionLeftFuture = getLatestStatusTransitionDate(leftIssue, leftJiraService);
+		CompletableFuture<ZonedDateTime> latestStatusTransitionRightFuture = getLatestStatusTransitionDate(rightIssue, rightJiraService);
 
-		ZonedDateTime latestStatusTransitionRight = getLatestStatusTransitionDate(rightIssue, rightJiraService);
+		ZonedDateTime latestStatusTransitionLeft = AsyncJiraService.join(latestStatusTransitionLeftFuture);
+		ZonedDateTime latestStatusTransitionRight = AsyncJiraService.join(latestStatusTransitionRightFuture);
 
 		if (latestStatusTransitionLeft == null) {
 			log.debug("Status transition of {} at {} is not newer than {} at {}. Skipping {}.", leftIssue,
@@ -494,14 +512,24 @@ public class UpdateExistingTargetJiraIssueSyncStrategy implements ExistingTarget
 		}
 	}
 
-	private ZonedDateTime getLatestStatusTransitionDate(JiraIssue issue, JiraService jiraService) {
-		JiraIssue issueWithChangelog = jiraService.getIssueByKeyWithChangelog(issue.getKey());
-		ZonedDateTime latestStatusTransitionDate = Optional.ofNullable(issueWithChangelog.getChangelog())
+	private CompletableFuture<ZonedDateTime> getLatestStatusTransitionDate(JiraIssue issue, JiraService jiraService) {
+		return getChangelog(issue, jiraService).thenApply(changelog -> Optional.ofNullable(changelog)
 			.map(JiraChangeLog::getLatestStatusTransition)
 			.map(JiraIssueHistoryEntry::getCreated)
-			.orElse(null);
+			.orElse(null));
+	}
 
-		return latestStatusTransitionDate;
+	private static CompletableFuture<JiraChangeLog> getChangelog(JiraIssue issue, JiraService jiraService) {
+		JiraChangeLog changelog = issue.getChangelog();
+		if (changelog != null && changelog.getHistories() != null && changelog.getTotal() <= changelog.getHistories().size()) {
+			return CompletableFuture.completedFuture(changelog);
+		}
+		AsyncJiraService asyncJiraService = AsyncJiraService.of(jiraService);
+		ZonedDateTime updated = issue.getFields().getUpdated();
+		if (updated == null) {
+			return asyncJiraService.getIssueByKeyWithChangelog(issue.getKey()).thenApply(JiraIssue::getChangelog);
+		}
+		return asyncJiraService.getChangelog(issue.getKey(), updated.toInstant());
 	}
 
 	private boolean filterOnlyIfAssignedInTarget(TransitionConfig transitionConfig, JiraIssue targetIssue) {
@@ -524,8 +552,34 @@ public class UpdateExistingTargetJiraIssueSyncStrategy implements ExistingTarget
 		return sameKey;
 	}
 
+	private void transitionIssue(JiraService jiraService, JiraIssue issue, JiraIssueUpdate issueUpdate) {
+		try {
+			jiraService.transitionIssue(issue.getKey(), issueUpdate);
+		} catch (JiraClientErrorException e) {
+			JiraTransition cachedTransition = issueUpdate.getTransition();
+			jiraService.evictTransitionsForWorkflowState(issue);
+			String statusToTransitionTo = cachedTransition.getTo().getName();
+			JiraTransition liveTransition;
+			try {
+				liveTransition = findIssueTransition(jiraService.getTransitions(issue.getKey()), issue, statusToTransitionTo);
+			} catch (RuntimeException lookupException) {
+				e.addSuppressed(lookupException);
+				throw e;
+			}
+			if (Objects.equals(liveTransition.getId(), cachedTransition.getId())) {
+				throw e;
+			}
+			log.warn("Transition {} of {} was rejected, retrying with {}", cachedTransition, issue, liveTransition, e);
+			issueUpdate.setTransition(liveTransition);
+			jiraService.transitionIssue(issue.getKey(), issueUpdate);
+		}
+	}
+
 	private JiraTransition findIssueTransition(JiraService jiraService, JiraIssue issue, String statusToTransitionTo) {
-		List<JiraTransition> allTransitions = jiraService.getTransitions(issue.getKey());
+		return findIssueTransition(jiraService.getTransitionsForWorkflowState(issue), issue, statusToTransitionTo);
+	}
+
+	private JiraTransition findIssueTransition(List<JiraTransition> allTransitions, JiraIssue issue, String statusToTransitionTo) {
 		List<JiraTransition> filteredTransitions = allTransitions.stream()
 			.filter(jiraTransition -> jiraTransition.getTo().getName().equals(statusToTransitionTo))
 			.collect(Collectors.toList());
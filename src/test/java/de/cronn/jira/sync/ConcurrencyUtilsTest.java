@@ -0,0 +1,163 @@
+package de.cronn.jira.sync;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class ConcurrencyUtilsTest {
+
+	private ExecutorService executor;
+
+	@After
+	public void shutDownExecutor() {
+		ConcurrencyUtils.shutDown(executor);
+	}
+
+	@Test
+	public void testMapKeepsOrder() throws Exception {
+		List<Integer> numbers = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+
+		executor = ConcurrencyUtils.newExecutor(4, "test-");
+		List<Integer> result = ConcurrencyUtils.map(numbers, executor, number -> number * 2);
+
+		assertThat(result).isEqualTo(numbers.stream().map(number -> number * 2).collect(Collectors.toList()));
+	}
+
+	@Test
+	public void testMapSequentially() throws Exception {
+		Set<String> threadNames = ConcurrentHashMap.newKeySet();
+
+		executor = ConcurrencyUtils.newExecutor(1, "test-");
+		assertThat(executor).isNull();
+		List<String> result = ConcurrencyUtils.map(Arrays.asList("a", "b", "c"), executor, value -> {
+			threadNames.add(Thread.currentThread().getName());
+			return value.toUpperCase();
+		});
+
+		assertThat(result).containsExactly("A", "B", "C");
+		assertThat(threadNames).containsExactly(Thread.currentThread().getName());
+	}
+
+	@Test
+	public void testForEachRunsConcurrently() throws Exception {
+		CountDownLatch latch = new CountDownLatch(3);
+		LongAdder counter = new LongAdder();
+
+		executor = ConcurrencyUtils.newExecutor(3, "test-");
+		ConcurrencyUtils.forEach(Stream.of(1, 2, 3), executor, value -> {
+			latch.countDown();
+			try {
+				assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+			} catch (InterruptedException e) {
+				throw new IllegalStateException(e);
+			}
+			counter.add(value);
+		});
+
+		assertThat(counter.sum()).isEqualTo(6);
+	}
+
+	@Test
+	public void testForEachWithMoreElementsThanThreads() throws Exception {
+		Set<Integer> processed = ConcurrentHashMap.newKeySet();
+
+		executor = ConcurrencyUtils.newExecutor(4, "test-");
+		ConcurrencyUtils.forEach(IntStream.range(0, 1000).boxed(), executor, processed::add);
+
+		assertThat(processed).hasSize(1000);
+	}
+
+	@Test
+	public void testForEachInBatchesPreparesBatchBeforeProcessing() throws Exception {
+		List<List<Integer>> batches = new ArrayList<>();
+		Set<Integer> prepared = ConcurrentHashMap.newKeySet();
+		Set<Integer> processed = ConcurrentHashMap.newKeySet();
+
+		executor = ConcurrencyUtils.newExecutor(2, "test-");
+		ConcurrencyUtils.forEachInBatches(IntStream.range(0, 7).boxed(), 3, batch -> {
+			batches.add(batch);
+			prepared.addAll(batch);
+		}, executor, value -> {
+			assertThat(prepared).contains(value);
+			processed.add(value);
+		});
+
+		assertThat(batches).containsExactly(Arrays.asList(0, 1, 2), Arrays.asList(3, 4, 5), Collections.singletonList(6));
+		assertThat(processed).hasSize(7);
+	}
+
+	@Test
+	public void testExecutorIsReusedAcrossCalls() throws Exception {
+		executor = ConcurrencyUtils.newExecutor(2, "test-");
+		Set<String> threadNames = ConcurrentHashMap.newKeySet();
+
+		for (int i = 0; i < 50; i++) {
+			ConcurrencyUtils.map(Arrays.asList(1, 2), executor, value -> threadNames.add(Thread.currentThread().getName()));
+		}
+
+		assertThat(threadNames).allMatch(threadName -> threadName.startsWith("test-") || threadName.equals(Thread.currentThread().getName()));
+		assertThat(threadNames.stream().filter(threadName -> threadName.startsWith("test-"))).hasSizeLessThanOrEqualTo(2);
+	}
+
+	@Test
+	public void testForEachRethrowsFirstFailureWhileStreaming() throws Exception {
+		executor = ConcurrencyUtils.newExecutor(2, "test-");
+		LongAdder streamed = new LongAdder();
+		Stream<Integer> elements = IntStream.range(0, 1000).boxed()
+			.peek(value -> {
+				streamed.increment();
+				if (value == 10) {
+					try {
+						Thread.sleep(200);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				}
+			});
+
+		try {
+			ConcurrencyUtils.forEach(elements, executor, value -> {
+				if (value == 0) {
+					throw new JiraSyncException("some failure");
+				}
+			});
+			fail("JiraSyncException expected");
+		} catch (JiraSyncException e) {
+			assertThat(e).hasMessage("some failure");
+		}
+
+		assertThat(streamed.sum()).isLessThan(1000);
+	}
+
+	@Test
+	public void testMapPropagatesException() throws Exception {
+		try {
+			executor = ConcurrencyUtils.newExecutor(2, "test-");
+			ConcurrencyUtils.map(Arrays.asList(1, 2, 3), executor, value -> {
+				if (value == 2) {
+					throw new JiraSyncException("some failure");
+				}
+				return value;
+			});
+			fail("JiraSyncException expected");
+		} catch (JiraSyncException e) {
+			assertThat(e).hasMessage("some failure");
+		}
+	}
+
+}
@@ -6,6 +6,7 @@ import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 import java.net.URL;
+import java.nio.file.Files;
 import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.util.Arrays;
@@ -14,11 +15,14 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.junit.After;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.context.embedded.LocalServerPort;
@@ -28,6 +32,8 @@ import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit4.SpringRunner;
@@ -54,7 +60,10 @@ import de.cronn.jira.sync.domain.JiraUser;
 import de.cronn.jira.sync.domain.JiraVersion;
 import de.cronn.jira.sync.dummy.JiraDummyService;
 import de.cronn.jira.sync.dummy.JiraFilter;
+import de.cronn.jira.sync.link.IssueLinkIndex;
 import de.cronn.jira.sync.service.JiraService;
+import de.cronn.jira.sync.store.IssueFingerprintStore;
+import de.cronn.jira.sync.store.SyncWatermarkStore;
 import de.cronn.jira.sync.strategy.SyncResult;
 
 @RunWith(SpringRunner.class)
@@ -148,6 +157,18 @@ public class JiraSyncApplicationTests {
 	@Autowired
 	private StoringRequestFilter storingRequestFilter;
 
+	@Autowired
+	private SyncWatermarkStore syncWatermarkStore;
+
+	@Autowired
+	private IssueLinkIndex issueLinkIndex;
+
+	@Autowired
+	private IssueFingerprintStore issueFingerprintStore;
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
 	@LocalServerPort
 	private int port;
 
@@ -155,6 +176,8 @@ public class JiraSyncApplicationTests {
 
 	private String targetBaseUrl;
 
+	private String stateDirectory;
+
 	@TestConfiguration
 	static class TestConfig {
 		@Bean
@@ -274,12 +297,30 @@ public class JiraSyncApplicationTests {
 		storingRequestFilter.clear();
 	}
 
+	@Before
+	public void useTemporaryStateDirectory() {
+		stateDirectory = syncConfig.getState().getDirectory();
+		syncConfig.getState().setDirectory(temporaryFolder.getRoot().getPath());
+	}
+
 	@After
 	public void logOut() {
 		jiraSource.logout();
 		jiraTarget.logout();
 	}
 
+	@After
+	public void resetSyncConfig() {
+		syncConfig.getIncrementalSync().setEnabled(false);
+		syncConfig.getLinkIndex().setEnabled(false);
+		syncConfig.getFingerprints().setEnabled(false);
+		syncConfig.setIssueCreationBatchSize(1);
+		syncConfig.getState().setDirectory(stateDirectory);
+		syncWatermarkStore.close();
+		issueLinkIndex.close();
+		issueFingerprintStore.close();
+	}
+
 	private static Map<String, Object> idValueMap(int id, String value) {
 		Map<String, Object> map = new LinkedHashMap<>();
 		map.put("id", id);
@@ -363,6 +404,23 @@ public class JiraSyncApplicationTests {
 		verify(jiraDummyService).filter(SOURCE, SOURCE_PROJECT_2_FILTER_ID);
 	}
 
+	@Test
+	public void testIssueFromOtherProjectReturnedByFilterIsSkipped() throws Exception {
+		JiraIssue otherProjectIssue = new JiraIssue(null, null, "some bug", SOURCE_STATUS_OPEN);
+		otherProjectIssue.getFields().setProject(SOURCE_PROJECT_2);
+		otherProjectIssue.getFields().setPriority(SOURCE_PRIORITY_HIGH);
+		otherProjectIssue.getFields().setIssuetype(SOURCE_TYPE_BUG);
+		jiraSource.createIssue(otherProjectIssue);
+
+		jiraDummyService.setFilter(SOURCE, SOURCE_PROJECT_1_FILTER_ID_2, issue -> true);
+
+		syncAndCheckResult();
+
+		JiraIssue targetIssue = getSingleIssue(TARGET);
+		assertThat(targetIssue.getFields().getSummary()).isEqualTo("SRC_TWO-1: some bug");
+		assertThat(targetIssue.getFields().getProject().getKey()).isEqualTo(TARGET_PROJECT_2.getKey());
+	}
+
 	@Test
 	public void testCreateTicketInTarget() throws Exception {
 		// given
@@ -412,6 +470,161 @@ public class JiraSyncApplicationTests {
 		syncAndAssertNoChanges();
 	}
 
+	@Test
+	public void testIncrementalSync() throws Exception {
+		syncConfig.getIncrementalSync().setEnabled(true);
+
+		// given
+		createIssueInSource("My first bug");
+
+		List<ProjectSyncResult> results = syncAndCheckResult();
+		assertThat(results.get(0).getCount(SyncResult.CREATED)).isEqualTo(1L);
+
+		clock.windForwardSeconds(TimeUnit.HOURS.toSeconds(2));
+		results = syncAndCheckResult();
+		assertThat(results.get(0).getCount(SyncResult.UNCHANGED)).isEqualTo(1L);
+
+		clock.windForwardSeconds(TimeUnit.HOURS.toSeconds(2));
+
+		createIssueInSource("My second bug");
+
+		// when
+		results = syncAndCheckResult();
+
+		// then
+		assertThat(results.get(0).getCount(SyncResult.CREATED)).isEqualTo(1L);
+		assertThat(results.get(0).getCount(SyncResult.UNCHANGED)).isZero();
+		assertThat(jiraDummyService.getAllIssues(TARGET)).hasSize(2);
+
+		// full reconciliation
+		clock.windForwardSeconds(TimeUnit.HOURS.toSeconds(24));
+		results = syncAndCheckResult();
+		assertThat(results.get(0).getCount(SyncResult.UNCHANGED)).isEqualTo(2L);
+	}
+
+	@Test
+	public void testLinkIndex() throws Exception {
+		syncConfig.getLinkIndex().setEnabled(true);
+
+		// given
+		JiraIssue createdSourceIssue = createIssueInSource("My first bug");
+
+		List<ProjectSyncResult> results = syncAndCheckResult();
+		assertThat(results.get(0).getCount(SyncResult.CREATED)).isEqualTo(1L);
+		JiraIssue targetIssue = getSingleIssue(TARGET);
+
+		assertThat(issueLinkIndex.getLinkedKey(createdSourceIssue.getKey(), jiraSource, jiraTarget)).isEqualTo(targetIssue.getKey());
+		assertThat(issueLinkIndex.getLinkedKey(targetIssue.getKey(), jiraTarget, jiraSource)).isEqualTo(createdSourceIssue.getKey());
+
+		clearInvocations(jiraDummyService);
+
+		// when
+		clock.windForwardSeconds(30);
+		results = syncAndCheckResult();
+
+		// then
+		assertThat(results.get(0).getCount(SyncResult.UNCHANGED)).isEqualTo(1L);
+		verify(jiraDummyService, never()).remoteLinks(any(), any());
+	}
+
+	@Test
+	public void testFingerprints() throws Exception {
+		syncConfig.getFingerprints().setEnabled(true);
+
+		// given
+		JiraIssue createdSourceIssue = createIssueInSource("My first bug");
+
+		List<ProjectSyncResult> results = syncAndCheckResult();
+		assertThat(results.get(0).getCount(SyncResult.CREATED)).isEqualTo(1L);
+
+		clock.windForwardSeconds(30);
+		results = syncAndCheckResult();
+		assertThat(results.get(0).getCount(SyncResult.UNCHANGED)).isEqualTo(1L);
+		assertThat(Files.readAllLines(temporaryFolder.getRoot().toPath().resolve("issue-fingerprints"))).hasSize(1);
+
+		// when
+		clock.windForwardSeconds(30);
+		results = syncAndCheckResult();
+
+		// then
+		assertThat(results.get(0).getCount(SyncResult.UNCHANGED)).isEqualTo(1L);
+
+		// when
+		jiraSource.updateIssue(createdSourceIssue.getKey(), fields -> fields.setDescription("changed description"));
+		clock.windForwardSeconds(30);
+		results = syncAndCheckResult();
+
+		// then
+		assertThat(results.get(0).getCount(SyncResult.CHANGED)).isEqualTo(1L);
+		assertThat(getSingleIssue(TARGET).getFields().getDescription()).contains("changed description");
+	}
+
+	@Test
+	public void testResolveTargetIssuesInBatch() throws Exception {
+		// given
+		createIssueInSource("My first bug");
+		createIssueInSource("My second bug");
+
+		List<ProjectSyncResult> results = syncAndCheckResult();
+		assertThat(results.get(0).getCount(SyncResult.CREATED)).isEqualTo(2L);
+
+		clearInvocations(jiraDummyService);
+
+		// when
+		clock.windForwardSeconds(30);
+		results = syncAndCheckResult();
+
+		// then
+		assertThat(results.get(0).getCount(SyncResult.UNCHANGED)).isEqualTo(2L);
+		verify(jiraDummyService).search(eq(TARGET), startsWith("key in ("), isNull());
+		verify(jiraDummyService, never()).getIssueByKey(eq(TARGET), anyString());
+	}
+
+	@Test
+	public void testCreateTargetIssuesInBulk() throws Exception {
+		syncConfig.setIssueCreationBatchSize(10);
+
+		// given
+		createIssueInSource("My first bug");
+		createIssueInSource("My second bug");
+		createIssueInSource("My third bug");
+
+		// when
+		List<ProjectSyncResult> results = syncAndCheckResult();
+
+		// then
+		assertThat(results.get(0).getCount(SyncResult.CREATED)).isEqualTo(3L);
+		verify(jiraDummyService).createIssues(eq(TARGET), any());
+		assertThat(jiraDummyService.getAllIssues(TARGET)).extracting(issue -> issue.getFields().getSummary())
+			.containsExactlyInAnyOrder("SRC_ONE-1: My first bug", "SRC_ONE-2: My second bug", "SRC_ONE-3: My third bug");
+
+		clock.windForwardSeconds(30);
+		results = syncAndCheckResult();
+		assertThat(results.get(0).getCount(SyncResult.UNCHANGED)).isEqualTo(3L);
+	}
+
+	@Test
+	public void testCreateOnlyFailedTargetIssuesOneByOneAfterPartialBulkFailure() throws Exception {
+		syncConfig.setIssueCreationBatchSize(10);
+
+		// given
+		createIssueInSource("My first bug");
+		createIssueInSource("My second bug");
+		createIssueInSource("My third bug");
+		doReturn(new ResponseEntity<>("temporarily rejected", HttpStatus.BAD_REQUEST)).doCallRealMethod()
+			.when(jiraDummyService).createIssue(eq(TARGET), argThat(issue -> issue.getFields().getSummary().endsWith("My second bug")));
+
+		// when
+		List<ProjectSyncResult> results = syncAndCheckResult();
+
+		// then
+		assertThat(results.get(0).getCount(SyncResult.CREATED)).isEqualTo(3L);
+		verify(jiraDummyService).createIssues(eq(TARGET), any());
+		verify(jiraDummyService, times(2)).createIssue(eq(TARGET), argThat(issue -> issue.getFields().getSummary().endsWith("My second bug")));
+		assertThat(jiraDummyService.getAllIssues(TARGET)).extracting(issue -> issue.getFields().getSummary())
+			.containsExactlyInAnyOrder("SRC_ONE-1: My first bug", "SRC_ONE-2: My second bug", "SRC_ONE-3: My third bug");
+	}
+
 	@Test
 	public void testCreateTicketInTargetFromSecondFilter() throws Exception {
 		JiraIssue sourceIssue1 = new JiraIssue(null, null, "My first bug", SOURCE_STATUS_OPEN);
@@ -817,7 +1030,15 @@ public class JiraSyncApplicationTests {
 	}
 
 	private JiraIssue createIssueInSource(JiraIssueType issueType) {
-		JiraIssue sourceIssue = new JiraIssue(null, null, "some issue", SOURCE_STATUS_OPEN);
+		return createIssueInSource("some issue", issueType);
+	}
+
+	private JiraIssue createIssueInSource(String summary) {
+		return createIssueInSource(summary, SOURCE_TYPE_BUG);
+	}
+
+	private JiraIssue createIssueInSource(String summary, JiraIssueType issueType) {
+		JiraIssue sourceIssue = new JiraIssue(null, null, summary, SOURCE_STATUS_OPEN);
 		sourceIssue.getFields().setProject(SOURCE_PROJECT_1);
 		sourceIssue.getFields().setIssuetype(issueType);
 		sourceIssue.getFields().setPriority(SOURCE_PRIORITY_HIGH);
@@ -962,6 +1183,29 @@ public class JiraSyncApplicationTests {
 		syncAndAssertNoChanges();
 	}
 
+	@Test
+	public void testMentionedUsersAreResolvedOncePerRun() throws Exception {
+		// given
+		for (String summary : Arrays.asList("some issue", "other issue")) {
+			JiraIssue sourceIssue = new JiraIssue(null, null, summary, SOURCE_STATUS_OPEN);
+			sourceIssue.getFields().setDescription("mentioning [~" + SOURCE_USER_SOME.getName() + "] and [~yetanotheruser]");
+			sourceIssue.getFields().setProject(SOURCE_PROJECT_1);
+			sourceIssue.getFields().setIssuetype(SOURCE_TYPE_UNKNOWN);
+			sourceIssue.getFields().setPriority(SOURCE_PRIORITY_HIGH);
+			jiraSource.createIssue(sourceIssue);
+		}
+
+		// when
+		List<ProjectSyncResult> results = syncAndCheckResult();
+
+		// then
+		assertThat(results.get(0).getCount(SyncResult.CREATED)).isEqualTo(2L);
+		assertThat(jiraDummyService.getAllIssues(TARGET)).extracting(issue -> issue.getFields().getDescription())
+			.allMatch(description -> description.contains("mentioning [Some User|https://localhost:" + port + "/SOURCE/secure/ViewProfile.jspa?name=some.user] and [~yetanotheruser]"));
+		verify(jiraDummyService).getUser(SOURCE, SOURCE_USER_SOME.getName());
+		verify(jiraDummyService).getUser(SOURCE, "yetanotheruser");
+	}
+
 	@Test
 	public void testCreateTicket_TicketReferences() throws Exception {
 		// given
@@ -1310,4 +1554,74 @@ public class JiraSyncApplicationTests {
 		syncAndAssertNoChanges();
 	}
 
+	@Test
+	public void testStatusTransitionDatesUseSearchChangelogAndRunScopedCache() throws Exception {
+		createIssueInSource();
+
+		syncAndCheckResult();
+
+		JiraIssue targetIssue = getSingleIssue(TARGET);
+		transitionIssue(TARGET, targetIssue, TARGET_STATUS_CLOSED);
+
+		syncAndCheckResult();
+
+		clock.windForwardSeconds(60);
+
+		JiraIssue sourceIssue = getSingleIssue(SOURCE);
+		transitionIssue(SOURCE, sourceIssue, SOURCE_STATUS_REOPENED);
+		transitionIssue(SOURCE, sourceIssue, SOURCE_STATUS_IN_PROGRESS);
+
+		clearInvocations(jiraDummyService);
+		syncAndAssertNoChanges();
+
+		verify(jiraDummyService, never()).getIssueByKey(eq(SOURCE), anyString(), eq("changelog"));
+		verify(jiraDummyService).getIssueByKey(eq(TARGET), anyString(), eq("changelog"));
+
+		clearInvocations(jiraDummyService);
+		syncAndAssertNoChanges();
+
+		verify(jiraDummyService).getIssueByKey(eq(TARGET), anyString(), eq("changelog"));
+	}
+
+	@Test
+	public void testTransitionsAreLookedUpOncePerWorkflowState() throws Exception {
+		createIssueInSource();
+		createIssueInSource();
+
+		syncAndCheckResult();
+
+		for (JiraIssue targetIssue : jiraDummyService.getAllIssues(TARGET)) {
+			transitionIssue(TARGET, targetIssue, TARGET_STATUS_CLOSED);
+		}
+
+		clearInvocations(jiraDummyService);
+		syncAndCheckResult();
+
+		assertThat(jiraDummyService.getAllIssues(SOURCE))
+			.extracting(issue -> issue.getFields().getStatus())
+			.containsOnly(SOURCE_STATUS_RESOLVED);
+		verify(jiraDummyService).getTransitions(eq(SOURCE), anyString());
+	}
+
+	@Test
+	public void testServerErrorDuringTransitionIsNotHandledAsRejectedTransition() throws Exception {
+		createIssueInSource();
+
+		syncAndCheckResult();
+
+		transitionIssue(TARGET, getSingleIssue(TARGET), TARGET_STATUS_CLOSED);
+		doThrow(new IllegalStateException("Service unavailable")).when(jiraDummyService).transitionIssue(eq(SOURCE), anyString(), any());
+
+		clearInvocations(jiraDummyService);
+		assertThatExceptionOfType(JiraSyncException.class)
+			.isThrownBy(() -> syncTask.sync())
+			.withMessage("Synchronisation failed for: [SRC_ONE -> TRG_ONE]");
+
+		assertThat(getSingleIssue(SOURCE).getFields().getStatus()).isEqualTo(SOURCE_STATUS_OPEN);
+		// a single lookup for the cached transitions, no live lookup after an eviction
+		verify(jiraDummyService).getTransitions(eq(SOURCE), anyString());
+		// no retry with another transition
+		verify(jiraDummyService).transitionIssue(eq(SOURCE), anyString(), any());
+	}
+
 }
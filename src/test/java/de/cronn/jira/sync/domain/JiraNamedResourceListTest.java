@@ -0,0 +1,52 @@
+package de.cronn.jira.sync.domain;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class JiraNamedResourceListTest {
+
+	@Test
+	public void testFindByName() throws Exception {
+		JiraVersion version1 = new JiraVersion("1", "1.0");
+		JiraVersion version2 = new JiraVersion("2", "2.0");
+		JiraVersion duplicate = new JiraVersion("3", "1.0");
+
+		JiraVersionsList versions = new JiraVersionsList();
+		versions.addAll(Arrays.asList(version1, version2, duplicate));
+
+		assertThat(versions.findByName("1.0")).isSameAs(version1);
+		assertThat(versions.findByName("2.0")).isSameAs(version2);
+		assertThat(versions.findByName("3.0")).isNull();
+		assertThat(versions.getResourcesByName()).isSameAs(versions.getResourcesByName());
+		assertThatExceptionOfType(UnsupportedOperationException.class)
+			.isThrownBy(() -> versions.getResourcesByName().clear());
+	}
+
+	@Test
+	public void testIndexByName() throws Exception {
+		JiraComponentsList components = new JiraComponentsList();
+		components.add(new JiraComponent("1", "Backend"));
+
+		assertThat(JiraNamedResourceList.indexByName(components)).isSameAs(components.getResourcesByName());
+
+		Map<String, JiraComponent> index = JiraNamedResourceList.indexByName(Arrays.asList(new JiraComponent("2", "Frontend")));
+		assertThat(index).containsOnlyKeys("Frontend");
+	}
+
+	@Test
+	public void testDeserialize() throws Exception {
+		ObjectMapper objectMapper = new ObjectMapper();
+
+		JiraVersionsList versions = objectMapper.readValue("[{\"id\":\"1\",\"name\":\"1.0\"}]", JiraVersionsList.class);
+
+		assertThat(versions.findByName("1.0")).isEqualTo(new JiraVersion("1", "1.0"));
+		assertThat(objectMapper.writeValueAsString(versions)).doesNotContain("resourcesByName");
+	}
+
+}
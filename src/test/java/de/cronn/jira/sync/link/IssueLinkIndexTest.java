@@ -0,0 +1,99 @@
+package de.cronn.jira.sync.link;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import de.cronn.jira.sync.config.JiraSyncConfig;
+import de.cronn.jira.sync.service.JiraService;
+
+@RunWith(MockitoJUnitRunner.class)
+public class IssueLinkIndexTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Mock
+	private JiraService jiraSource;
+
+	@Mock
+	private JiraService jiraTarget;
+
+	private JiraSyncConfig jiraSyncConfig;
+
+	private IssueLinkIndex issueLinkIndex;
+
+	@Before
+	public void setUp() throws Exception {
+		when(jiraSource.getUrl()).thenReturn("https://jira.source");
+		when(jiraTarget.getUrl()).thenReturn("https://jira.target");
+
+		jiraSyncConfig = new JiraSyncConfig();
+		jiraSyncConfig.getState().setDirectory(temporaryFolder.getRoot().getPath());
+		jiraSyncConfig.getLinkIndex().setEnabled(true);
+		issueLinkIndex = new IssueLinkIndex(jiraSyncConfig);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		issueLinkIndex.close();
+	}
+
+	@Test
+	public void testPutAndGet() throws Exception {
+		issueLinkIndex.putLinkedKey("SOURCE-1", "TARGET-1", jiraSource, jiraTarget);
+
+		assertThat(issueLinkIndex.getLinkedKey("SOURCE-1", jiraSource, jiraTarget)).isEqualTo("TARGET-1");
+		assertThat(issueLinkIndex.getLinkedKey("SOURCE-1", jiraTarget, jiraSource)).isNull();
+		assertThat(issueLinkIndex.getLinkedKey("SOURCE-2", jiraSource, jiraTarget)).isNull();
+
+		issueLinkIndex.removeLinkedKey("SOURCE-1", jiraSource, jiraTarget);
+		assertThat(issueLinkIndex.getLinkedKey("SOURCE-1", jiraSource, jiraTarget)).isNull();
+	}
+
+	@Test
+	public void testPersistence() throws Exception {
+		issueLinkIndex.putLinkedKey("SOURCE-1", "TARGET-1", jiraSource, jiraTarget);
+		issueLinkIndex.close();
+
+		IssueLinkIndex reopenedIndex = new IssueLinkIndex(jiraSyncConfig);
+		try {
+			assertThat(reopenedIndex.getLinkedKey("SOURCE-1", jiraSource, jiraTarget)).isEqualTo("TARGET-1");
+		} finally {
+			reopenedIndex.close();
+		}
+	}
+
+	@Test
+	public void testRebuild() throws Exception {
+		issueLinkIndex.putLinkedKey("SOURCE-1", "TARGET-1", jiraSource, jiraTarget);
+		issueLinkIndex.close();
+
+		jiraSyncConfig.getLinkIndex().setRebuild(true);
+		IssueLinkIndex rebuiltIndex = new IssueLinkIndex(jiraSyncConfig);
+		try {
+			assertThat(rebuiltIndex.getLinkedKey("SOURCE-1", jiraSource, jiraTarget)).isNull();
+		} finally {
+			rebuiltIndex.close();
+		}
+	}
+
+	@Test
+	public void testDisabled() throws Exception {
+		jiraSyncConfig.getLinkIndex().setEnabled(false);
+
+		issueLinkIndex.putLinkedKey("SOURCE-1", "TARGET-1", jiraSource, jiraTarget);
+
+		assertThat(issueLinkIndex.getLinkedKey("SOURCE-1", jiraSource, jiraTarget)).isNull();
+		assertThat(temporaryFolder.getRoot().list()).isEmpty();
+	}
+
+}
@@ -15,12 +15,15 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.http.HttpHeaders;
 
 import de.cronn.jira.sync.JiraSyncException;
 import de.cronn.jira.sync.domain.JiraIssue;
 import de.cronn.jira.sync.domain.JiraIssueFields;
 import de.cronn.jira.sync.domain.JiraRemoteLink;
 import de.cronn.jira.sync.domain.JiraServerInfo;
+import de.cronn.jira.sync.service.JiraIssueProjection;
+import de.cronn.jira.sync.service.JiraResourceNotFoundException;
 import de.cronn.jira.sync.service.JiraService;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -36,15 +39,18 @@ public class JiraIssueWebLinkerTest {
 	@Mock
 	private JiraService jiraTarget;
 
+	@Mock
+	private IssueLinkIndex issueLinkIndex;
+
 	@Before
 	public void setUp() throws Exception {
-		when(jiraTarget.getServerInfo()).thenReturn(new JiraServerInfo(JIRA_TARGET_URL));
+		lenient().when(jiraTarget.getServerInfo()).thenReturn(new JiraServerInfo(JIRA_TARGET_URL));
 	}
 
 	@Test
 	public void testResolve_NoRemoteLinks() throws Exception {
 
-		JiraIssueLinker resolver = new JiraIssueWebLinker();
+		JiraIssueLinker resolver = new JiraIssueWebLinker(issueLinkIndex);
 
 		JiraIssue jiraIssue = createJiraIssue("1", "KEY-1");
 
@@ -64,7 +70,7 @@ public class JiraIssueWebLinkerTest {
 
 	@Test
 	public void testResolve_OtherRemoteLinks() throws Exception {
-		JiraIssueLinker resolver = new JiraIssueWebLinker();
+		JiraIssueLinker resolver = new JiraIssueWebLinker(issueLinkIndex);
 
 		JiraIssue jiraIssue = createJiraIssue("1", "KEY-1");
 
@@ -79,7 +85,7 @@ public class JiraIssueWebLinkerTest {
 
 	@Test
 	public void testResolve_HappyPath() throws Exception {
-		JiraIssueLinker resolver = new JiraIssueWebLinker();
+		JiraIssueLinker resolver = new JiraIssueWebLinker(issueLinkIndex);
 
 		JiraIssue sourceIssue = createJiraIssue("SOURCE-12", "1");
 		JiraIssue targetIssue = createJiraIssue("TARGET-123", "1");
@@ -99,7 +105,7 @@ public class JiraIssueWebLinkerTest {
 
 	@Test
 	public void testResolve_ExtraSlash() throws Exception {
-		JiraIssueLinker resolver = new JiraIssueWebLinker();
+		JiraIssueLinker resolver = new JiraIssueWebLinker(issueLinkIndex);
 
 		JiraIssue sourceIssue = createJiraIssue("SOURCE-12", "1");
 		JiraIssue targetIssue = createJiraIssue("TARGET-123", "1");
@@ -117,7 +123,7 @@ public class JiraIssueWebLinkerTest {
 
 	@Test
 	public void testResolve_CannotResolveFromTarget() throws Exception {
-		JiraIssueLinker resolver = new JiraIssueWebLinker();
+		JiraIssueLinker resolver = new JiraIssueWebLinker(issueLinkIndex);
 
 		JiraIssue sourceIssue = createJiraIssue("SOURCE-123", "1");
 		JiraIssue targetIssue = createJiraIssue("TARGET-123", "1");
@@ -137,7 +143,7 @@ public class JiraIssueWebLinkerTest {
 
 	@Test
 	public void testResolve_MultipleRemoteIssues() throws Exception {
-		JiraIssueLinker resolver = new JiraIssueWebLinker();
+		JiraIssueLinker resolver = new JiraIssueWebLinker(issueLinkIndex);
 
 		JiraIssue sourceIssue = createJiraIssue("SOURCE-123", "1");
 		JiraIssue targetIssue1 = createJiraIssue("TARGET-123", "1");
@@ -155,7 +161,7 @@ public class JiraIssueWebLinkerTest {
 
 	@Test
 	public void testResolve_FailedToGetRemoteLinks() throws Exception {
-		JiraIssueLinker resolver = new JiraIssueWebLinker();
+		JiraIssueLinker resolver = new JiraIssueWebLinker(issueLinkIndex);
 
 		JiraIssue sourceIssue = createJiraIssue("SOURCE-123", "1");
 
@@ -170,7 +176,7 @@ public class JiraIssueWebLinkerTest {
 
 	@Test
 	public void testResolve_FailedToGetIssueInTarget() throws Exception {
-		JiraIssueLinker resolver = new JiraIssueWebLinker();
+		JiraIssueLinker resolver = new JiraIssueWebLinker(issueLinkIndex);
 
 		JiraIssue sourceIssue = createJiraIssue("SOURCE-12", "1");
 		JiraIssue targetIssue = createJiraIssue("TARGET-123", "1");
@@ -188,4 +194,108 @@ public class JiraIssueWebLinkerTest {
 			.withStackTraceContaining("You do not have the permission to see the specified issue.");
 	}
 
+	@Test
+	public void testResolve_FromIndex() throws Exception {
+		JiraIssueWebLinker resolver = new JiraIssueWebLinker(issueLinkIndex);
+
+		JiraIssue sourceIssue = createJiraIssue("SOURCE-12", "1");
+		JiraIssue targetIssue = createJiraIssue("TARGET-123", "1");
+
+		when(issueLinkIndex.getLinkedKey(sourceIssue.getKey(), jiraSource, jiraTarget)).thenReturn(targetIssue.getKey());
+		when(jiraTarget.getIssueByKey(targetIssue.getKey())).thenReturn(targetIssue);
+
+		JiraIssue resolvedIssue = resolver.resolveIssue(sourceIssue, jiraSource, jiraTarget);
+		assertThat(resolvedIssue).isSameAs(targetIssue);
+
+		verify(jiraSource, never()).getRemoteLinks(any(), any());
+		verify(issueLinkIndex, never()).putLinkedKey(any(), any(), any(), any());
+	}
+
+	@Test
+	public void testResolve_FromIndex_IssueWasMoved() throws Exception {
+		JiraIssueWebLinker resolver = new JiraIssueWebLinker(issueLinkIndex);
+
+		JiraIssue sourceIssue = createJiraIssue("SOURCE-12", "1");
+		JiraIssue targetIssue = createJiraIssue("OTHER-7", "1");
+
+		when(issueLinkIndex.getLinkedKey(sourceIssue.getKey(), jiraSource, jiraTarget)).thenReturn("TARGET-123");
+		when(jiraTarget.getIssueByKey("TARGET-123")).thenReturn(targetIssue);
+
+		JiraIssue resolvedIssue = resolver.resolveIssue(sourceIssue, jiraSource, jiraTarget);
+		assertThat(resolvedIssue).isSameAs(targetIssue);
+
+		verify(issueLinkIndex).putLinkedKey(sourceIssue.getKey(), targetIssue.getKey(), jiraSource, jiraTarget);
+		verify(jiraSource, never()).getRemoteLinks(any(), any());
+	}
+
+	@Test
+	public void testResolve_StaleIndexEntry() throws Exception {
+		JiraIssueWebLinker resolver = new JiraIssueWebLinker(issueLinkIndex);
+
+		JiraIssue sourceIssue = createJiraIssue("SOURCE-12", "1");
+		JiraIssue targetIssue = createJiraIssue("TARGET-123", "1");
+
+		when(issueLinkIndex.getLinkedKey(sourceIssue.getKey(), jiraSource, jiraTarget)).thenReturn("TARGET-1", (String) null);
+		when(jiraTarget.getIssueByKey("TARGET-1")).thenThrow(new JiraResourceNotFoundException(JIRA_TARGET_URL, "Issue Does Not Exist", new HttpHeaders(), new byte[0]));
+		when(jiraTarget.getIssueByKey(targetIssue.getKey())).thenReturn(targetIssue);
+
+		List<JiraRemoteLink> remoteLinks = Collections.singletonList(new JiraRemoteLink(JIRA_TARGET_URL + "/browse/" + targetIssue.getKey()));
+		when(jiraSource.getRemoteLinks(sourceIssue.getKey(), UPDATED)).thenReturn(remoteLinks);
+
+		JiraIssue resolvedIssue = resolver.resolveIssue(sourceIssue, jiraSource, jiraTarget);
+		assertThat(resolvedIssue).isSameAs(targetIssue);
+
+		verify(issueLinkIndex).removeLinkedKey(sourceIssue.getKey(), jiraSource, jiraTarget);
+		verify(issueLinkIndex).putLinkedKey(sourceIssue.getKey(), targetIssue.getKey(), jiraSource, jiraTarget);
+	}
+
+	@Test
+	public void testResolve_FromIndex_TransientErrorKeepsIndexEntry() throws Exception {
+		JiraIssueWebLinker resolver = new JiraIssueWebLinker(issueLinkIndex);
+
+		JiraIssue sourceIssue = createJiraIssue("SOURCE-12", "1");
+
+		when(issueLinkIndex.getLinkedKey(sourceIssue.getKey(), jiraSource, jiraTarget)).thenReturn("TARGET-123");
+		JiraSyncException transientError = new JiraSyncException("Service Unavailable");
+		when(jiraTarget.getIssueByKey("TARGET-123")).thenThrow(transientError);
+
+		assertThatThrownBy(() -> resolver.resolveIssue(sourceIssue, jiraSource, jiraTarget))
+			.isSameAs(transientError);
+
+		verify(issueLinkIndex, never()).removeLinkedKey(any(), any(), any());
+		verify(jiraSource, never()).getRemoteLinks(any(), any());
+	}
+
+	@Test
+	public void testLinkIssue_UpdatesIndex() throws Exception {
+		JiraIssueWebLinker linker = new JiraIssueWebLinker(issueLinkIndex);
+
+		JiraIssue sourceIssue = createJiraIssue("SOURCE-12", "1");
+		JiraIssue targetIssue = createJiraIssue("TARGET-123", "1");
+
+		linker.linkIssue(sourceIssue, targetIssue, jiraSource, jiraTarget, null);
+
+		verify(jiraSource).addRemoteLink(sourceIssue, targetIssue, jiraTarget, null);
+		verify(issueLinkIndex).putLinkedKey(sourceIssue.getKey(), targetIssue.getKey(), jiraSource, jiraTarget);
+	}
+
+	@Test
+	public void testResolve_WithProjection() throws Exception {
+		JiraIssueLinker resolver = new JiraIssueWebLinker(issueLinkIndex);
+
+		JiraIssue sourceIssue = createJiraIssue("SOURCE-12", "1");
+		JiraIssue targetIssue = createJiraIssue("TARGET-123", "1");
+		JiraIssueProjection projection = new JiraIssueProjection(Collections.singleton("Custom Field"), false);
+
+		when(jiraTarget.getIssueByKey(targetIssue.getKey(), projection)).thenReturn(targetIssue);
+
+		List<JiraRemoteLink> remoteLinks = Collections.singletonList(new JiraRemoteLink(JIRA_TARGET_URL + "/browse/" + targetIssue.getKey()));
+		when(jiraSource.getRemoteLinks(sourceIssue.getKey(), UPDATED)).thenReturn(remoteLinks);
+
+		JiraIssue resolvedIssue = resolver.resolveIssue(sourceIssue, jiraSource, jiraTarget, projection);
+		assertThat(resolvedIssue).isSameAs(targetIssue);
+
+		verify(jiraTarget, never()).getIssueByKey(anyString());
+	}
+
 }
@@ -5,6 +5,9 @@ import static org.mockito.Mockito.*;
 
 import java.time.Clock;
 import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -183,6 +186,40 @@ public class DefaultCommentMapperTest {
 		assertThat(commentMapper.isMapped(comment1, "foobar")).isFalse();
 	}
 
+	@Test
+	public void testGetMappedCommentIds() throws Exception {
+		JiraIssue sourceIssue = new JiraIssue("1", "KEY-1");
+		String mappedComment = commentMapper.map(sourceIssue, createSomeComment("100"), jiraSource, false);
+
+		assertThat(commentMapper.getMappedCommentIds(mappedComment)).containsExactly("100");
+		assertThat(commentMapper.getMappedCommentIds("")).isEmpty();
+		assertThat(commentMapper.getMappedCommentIds("foobar")).isEmpty();
+		assertThat(commentMapper.getMappedCommentIds(mappedComment.substring(1))).isEmpty();
+		assertThat(commentMapper.getMappedCommentIds("{panel:title=x}\n~??[comment 100|https://jira.source/browse/KEY-1?focusedCommentId=100&page]??~")).containsExactly("100");
+		assertThat(commentMapper.getMappedCommentIds("{panel:title=x}\n~??[comment 100|https://jira.source/browse/KEY-1?focusedCommentId=101&page]??~")).isEmpty();
+		assertThat(commentMapper.getMappedCommentIds("{panel:title=x}\n~??[comment 100|https://jira.source/browse/KEY-1?focusedCommentId=100&page\n]??~")).isEmpty();
+		assertThat(commentMapper.getMappedCommentIds("{panel:title=x}\n~??[comment ~??[comment 100|link?focusedCommentId=100&page]??~")).containsExactly("100");
+	}
+
+	@Test
+	public void testGetMappedCommentIds_500Comments() throws Exception {
+		JiraIssue sourceIssue = new JiraIssue("1", "KEY-1");
+		List<JiraComment> comments = IntStream.range(0, 500)
+			.mapToObj(i -> createSomeComment(String.valueOf(10000 + i)))
+			.collect(Collectors.toList());
+
+		StringBuilder allMappedComments = new StringBuilder();
+		for (JiraComment comment : comments) {
+			String mappedComment = commentMapper.map(sourceIssue, comment, jiraSource, false);
+			assertThat(commentMapper.getMappedCommentIds(mappedComment)).containsExactly(comment.getId());
+			assertThat(commentMapper.isMapped(comment, mappedComment)).isTrue();
+			allMappedComments.append(mappedComment).append('\n');
+		}
+
+		assertThat(commentMapper.getMappedCommentIds(allMappedComments.toString()))
+			.containsExactlyElementsOf(comments.stream().map(JiraComment::getId).collect(Collectors.toList()));
+	}
+
 	@Test
 	public void testWasAddedBehindTime() throws Exception {
 		assertThat(commentMapper.wasAddedBehindTime(new JiraComment(""))).isFalse();
@@ -141,4 +141,18 @@ public class DefaultDescriptionMapperTest {
 		assertThat(description).isEqualTo("{panel:title=Original description|titleBGColor=#dddddd|bgColor=#eeeeee}\nchanged source description\n{panel}\n\ntarget description");
 	}
 
-}
\ No newline at end of file
+	@Test
+	public void testMapTargetDescription_LargeDescriptions() throws Exception {
+		StringBuilder log = new StringBuilder();
+		for (int i = 0; i < 5_000; i++) {
+			log.append("\n2020-01-01 12:00:00 INFO {panel:title=x} line ").append(i);
+		}
+		String sourceDescription = "changed source description" + log;
+		String targetDescription = "{panel:title=Original description|titleBGColor=#dddddd|bgColor=#eeeeee}\nsource description\n{panel}\n\ntarget description" + log;
+		String description = descriptionMapper.mapTargetDescription(sourceDescription, targetDescription, jiraSource);
+		assertThat(description).startsWith("{panel:title=Original description|titleBGColor=#dddddd|bgColor=#eeeeee}\nchanged source description\n2020-01-01 12:00:00 INFO \\{panel:title=x\\} line 0\n");
+		assertThat(description).contains("\\{panel:title=x\\} line 4999\n{panel}\n\ntarget description\n2020-01-01 12:00:00 INFO {panel:title=x} line 0\n");
+		assertThat(description).endsWith("{panel:title=x} line 4999");
+	}
+
+}
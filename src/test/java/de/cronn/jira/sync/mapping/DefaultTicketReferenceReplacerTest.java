@@ -160,6 +160,18 @@ public class DefaultTicketReferenceReplacerTest {
 		verifyNoMoreInteractions(jiraService);
 	}
 
+	@Test
+	public void testProjectsChanged() throws Exception {
+		assertThat(replace("NEW-1 and PROJECT-2")).isEqualTo("NEW-1 and [PROJECT-2|https://jira/browse/PROJECT-2]");
+
+		when(jiraService.getProjects()).thenReturn(Arrays.asList(
+			new JiraProject("1", "PROJECT"),
+			new JiraProject("3", "NEW")
+		));
+
+		assertThat(replace("NEW-1 and PROJECT-2")).isEqualTo("[NEW-1|https://jira/browse/NEW-1] and [PROJECT-2|https://jira/browse/PROJECT-2]");
+	}
+
 	private String replace(String inputText) {
 		return ticketReferenceReplacer.replaceTicketReferences(inputText, jiraService);
 	}
@@ -0,0 +1,99 @@
+package de.cronn.jira.sync.mapping;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import de.cronn.jira.sync.config.JiraSyncConfig;
+import de.cronn.jira.sync.domain.JiraComment;
+import de.cronn.jira.sync.domain.JiraComments;
+import de.cronn.jira.sync.domain.JiraIssue;
+import de.cronn.jira.sync.domain.JiraIssueFields;
+import de.cronn.jira.sync.domain.JiraUser;
+import de.cronn.jira.sync.service.JiraService;
+
+@RunWith(MockitoJUnitRunner.class)
+public class JiraUserDirectoryTest {
+
+	private static final JiraUser SOME_USER = new JiraUser("some.user", "some.user", "Some User");
+
+	@Mock
+	private JiraService jiraService;
+
+	private JiraSyncConfig jiraSyncConfig;
+
+	private JiraUserDirectory userDirectory;
+
+	@Before
+	public void setUp() {
+		jiraSyncConfig = new JiraSyncConfig();
+		userDirectory = new JiraUserDirectory(jiraSyncConfig);
+		when(jiraService.getUrl()).thenReturn("https://jira");
+	}
+
+	@Test
+	public void testGetUserByName() throws Exception {
+		when(jiraService.getUserByName("some.user")).thenReturn(SOME_USER);
+
+		assertThat(userDirectory.getUserByName(jiraService, "some.user")).isSameAs(SOME_USER);
+		assertThat(userDirectory.getUserByName(jiraService, "some.user")).isSameAs(SOME_USER);
+
+		verify(jiraService, times(1)).getUserByName("some.user");
+	}
+
+	@Test
+	public void testGetUserByName_unknownUser() throws Exception {
+		assertThat(userDirectory.getUserByName(jiraService, "unknown")).isNull();
+		assertThat(userDirectory.getUserByName(jiraService, "unknown")).isNull();
+
+		verify(jiraService, times(1)).getUserByName("unknown");
+	}
+
+	@Test
+	public void testEvictsLeastRecentlyUsedUsers() throws Exception {
+		jiraSyncConfig.setUserDirectorySize(2);
+		userDirectory.putUser(jiraService, "user1", null);
+		userDirectory.putUser(jiraService, "user2", null);
+		userDirectory.getUserByName(jiraService, "user1");
+		userDirectory.putUser(jiraService, "user3", null);
+
+		assertThat(userDirectory.size()).isEqualTo(2);
+		assertThat(userDirectory.getUserByName(jiraService, "user1")).isNull();
+		verify(jiraService, never()).getUserByName(anyString());
+
+		userDirectory.getUserByName(jiraService, "user2");
+		verify(jiraService).getUserByName("user2");
+	}
+
+	@Test
+	public void testGetUnknownMentionedUsernames() throws Exception {
+		JiraIssue issue1 = new JiraIssue("1", "KEY-1");
+		issue1.setFields(new JiraIssueFields());
+		issue1.getFields().setDescription("mentioning [~some.user] and [~other.user]");
+		JiraIssue issue2 = new JiraIssue("2", "KEY-2");
+		issue2.setFields(new JiraIssueFields());
+		JiraComments comments = new JiraComments();
+		comments.addComment(new JiraComment("[~third.user]: [~some.user]"));
+		issue2.getFields().setComment(comments);
+
+		userDirectory.putUser(jiraService, "other.user", null);
+
+		assertThat(userDirectory.getUnknownMentionedUsernames(jiraService, Arrays.asList(issue1, issue2)))
+			.containsExactly("some.user", "third.user");
+	}
+
+	@Test
+	public void testClear() throws Exception {
+		userDirectory.putUser(jiraService, "some.user", SOME_USER);
+		userDirectory.clear();
+		assertThat(userDirectory.size()).isZero();
+	}
+
+}
@@ -0,0 +1,32 @@
+package de.cronn.jira.sync.mapping;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class TicketReferenceMatcherTest {
+
+	private final TicketReferenceMatcher matcher = new TicketReferenceMatcher(Arrays.asList("AB", "ABC", "X_1"));
+
+	@Test
+	public void testReplaceAll() throws Exception {
+		assertThat(replace("AB-1")).isEqualTo("<AB-1>");
+		assertThat(replace("ABC-12 and AB-3.")).isEqualTo("<ABC-12> and <AB-3>.");
+		assertThat(replace("X_1-7\tAB-1:ABC-2")).isEqualTo("<X_1-7>\t<AB-1>:<ABC-2>");
+		assertThat(replace("see AB-1 ")).isEqualTo("see <AB-1> ");
+	}
+
+	@Test
+	public void testNoMatch() throws Exception {
+		String text = "ABCD-1 AB- xAB-1 AB-1x AB-1-2 https://jira/browse/AB-1 ab-1 A-1";
+		assertThat(replace(text)).isSameAs(text);
+		assertThat(replace("")).isEmpty();
+	}
+
+	private String replace(String text) {
+		return matcher.replaceAll(text, issueKey -> "<" + issueKey + ">");
+	}
+
+}
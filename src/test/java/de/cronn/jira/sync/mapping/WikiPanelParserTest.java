@@ -0,0 +1,50 @@
+package de.cronn.jira.sync.mapping;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.Test;
+
+public class WikiPanelParserTest {
+
+	@Test
+	public void testFindFirstPanel() throws Exception {
+		assertPanel("before {panel:title=x}content{panel}  \n after", "{panel:title=x}content{panel}  \n");
+		assertPanel("{panel}{panel}{panel}", "{panel}{panel}");
+		assertPanel("{panel\\x} {panel:title=y}content{panel}", "{panel:title=y}content{panel}");
+		assertPanel("{panel:a}one{panel}{panel:b}two{panel}", "{panel:a}one{panel}");
+	}
+
+	@Test
+	public void testFindFirstPanel_noPanel() throws Exception {
+		assertThat(WikiPanelParser.findFirstPanel("")).isNull();
+		assertThat(WikiPanelParser.findFirstPanel("no panel at all")).isNull();
+		assertThat(WikiPanelParser.findFirstPanel("{panel:title=x}content without end")).isNull();
+		assertThat(WikiPanelParser.findFirstPanel("{panel:title=x content{panel")).isNull();
+		assertThat(WikiPanelParser.findFirstPanel("{panel:title\\x}content{panel\\}")).isNull();
+	}
+
+	@Test
+	public void testEscapePanelTags() throws Exception {
+		assertThat(WikiPanelParser.escapePanelTags("a {panel:title=foo}b{panel} c")).isEqualTo("a \\{panel:title=foo\\}b\\{panel\\} c");
+		assertThat(WikiPanelParser.escapePanelTags("{panel\\x} {panel:x")).isEqualTo("{panel\\x} {panel:x");
+		String text = "nothing to escape";
+		assertThat(WikiPanelParser.escapePanelTags(text)).isSameAs(text);
+	}
+
+	@Test
+	public void testLargeInput() throws Exception {
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < 100_000; i++) {
+			text.append("{panel");
+		}
+		assertThat(WikiPanelParser.findFirstPanel(text.toString())).isNull();
+		assertThat(WikiPanelParser.escapePanelTags(text.toString())).isEqualTo(text.toString());
+	}
+
+	private static void assertPanel(String text, String expectedPanel) {
+		WikiPanelParser.Panel panel = WikiPanelParser.findFirstPanel(text);
+		assertThat(panel).isNotNull();
+		assertThat(text.substring(panel.getStart(), panel.getEnd())).isEqualTo(expectedPanel);
+	}
+
+}
@@ -0,0 +1,85 @@
+package de.cronn.jira.sync.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import de.cronn.jira.sync.JiraSyncException;
+import de.cronn.jira.sync.domain.JiraChangeLog;
+import de.cronn.jira.sync.domain.JiraIssue;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ExecutorAsyncJiraServiceTest {
+
+	@Mock
+	private JiraService jiraService;
+
+	private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+	@After
+	public void shutdownExecutor() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void testCallsRunConcurrently() throws Exception {
+		CountDownLatch latch = new CountDownLatch(2);
+		JiraChangeLog changelog1 = new JiraChangeLog();
+		JiraChangeLog changelog2 = new JiraChangeLog();
+		Instant updated = Instant.now();
+		doAnswer(invocation -> {
+			latch.countDown();
+			assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+			return invocation.getArgument(0).equals("KEY-1") ? changelog1 : changelog2;
+		}).when(jiraService).getChangelog(anyString(), eq(updated));
+
+		AsyncJiraService asyncJiraService = new ExecutorAsyncJiraService(jiraService, executor);
+		CompletableFuture<JiraChangeLog> future1 = asyncJiraService.getChangelog("KEY-1", updated);
+		CompletableFuture<JiraChangeLog> future2 = asyncJiraService.getChangelog("KEY-2", updated);
+
+		assertThat(AsyncJiraService.join(future1)).isSameAs(changelog1);
+		assertThat(AsyncJiraService.join(future2)).isSameAs(changelog2);
+	}
+
+	@Test
+	public void testRunsInCallingThreadWithoutExecutor() throws Exception {
+		JiraIssue issue = new JiraIssue("1", "KEY-1");
+		doAnswer(invocation -> {
+			assertThat(Thread.currentThread().getName()).isEqualTo("main-test-thread");
+			return issue;
+		}).when(jiraService).getIssueByKeyWithChangelog("KEY-1");
+
+		String threadName = Thread.currentThread().getName();
+		Thread.currentThread().setName("main-test-thread");
+		try {
+			CompletableFuture<JiraIssue> future = AsyncJiraService.of(jiraService).getIssueByKeyWithChangelog("KEY-1");
+			assertThat(future).isCompletedWithValue(issue);
+		} finally {
+			Thread.currentThread().setName(threadName);
+		}
+	}
+
+	@Test
+	public void testJoinRethrowsOriginalException() throws Exception {
+		doThrow(new JiraSyncException("some failure")).when(jiraService).updateComment("KEY-1", "10", "text");
+
+		CompletableFuture<Void> future = new ExecutorAsyncJiraService(jiraService, executor).updateComment("KEY-1", "10", "text");
+
+		assertThatExceptionOfType(JiraSyncException.class)
+			.isThrownBy(() -> AsyncJiraService.join(future))
+			.withMessage("some failure");
+	}
+
+}
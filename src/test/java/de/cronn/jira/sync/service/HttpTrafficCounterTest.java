@@ -0,0 +1,69 @@
+package de.cronn.jira.sync.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.client.protocol.ResponseContentEncoding;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.util.EntityUtils;
+import org.junit.Test;
+
+public class HttpTrafficCounterTest {
+
+	@Test
+	public void testCountCompressedResponse() throws Exception {
+		StringBuilder json = new StringBuilder("[");
+		for (int i = 0; i < 1000; i++) {
+			json.append("{\"key\":\"PROJECT-").append(i).append("\"},");
+		}
+		json.append("{}]");
+		byte[] content = json.toString().getBytes(StandardCharsets.UTF_8);
+		byte[] compressedContent = gzip(content);
+
+		HttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK");
+		ByteArrayEntity entity = new ByteArrayEntity(compressedContent);
+		entity.setContentEncoding("gzip");
+		response.setEntity(entity);
+
+		HttpTrafficCounter counter = new HttpTrafficCounter();
+		HttpClientContext context = HttpClientContext.create();
+		counter.wireBytesInterceptor().process(response, context);
+		new ResponseContentEncoding().process(response, context);
+		counter.contentBytesInterceptor().process(response, context);
+
+		assertThat(EntityUtils.toByteArray(response.getEntity())).isEqualTo(content);
+		assertThat(counter.getResponses()).isEqualTo(1L);
+		assertThat(counter.getWireBytes()).isEqualTo(compressedContent.length);
+		assertThat(counter.getContentBytes()).isEqualTo(content.length);
+		assertThat(counter.getWireBytes()).isLessThan(counter.getContentBytes());
+	}
+
+	@Test
+	public void testResponseWithoutEntity() throws Exception {
+		HttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 204, "No Content");
+
+		HttpTrafficCounter counter = new HttpTrafficCounter();
+		counter.wireBytesInterceptor().process(response, HttpClientContext.create());
+		counter.contentBytesInterceptor().process(response, HttpClientContext.create());
+
+		assertThat(counter.getResponses()).isZero();
+		assertThat(counter.getWireBytes()).isZero();
+		assertThat(counter.getContentBytes()).isZero();
+	}
+
+	private static byte[] gzip(byte[] content) throws Exception {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream)) {
+			gzipOutputStream.write(content);
+		}
+		return outputStream.toByteArray();
+	}
+
+}
@@ -0,0 +1,67 @@
+package de.cronn.jira.sync.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import de.cronn.jira.sync.domain.JiraField;
+import de.cronn.jira.sync.domain.JiraFieldSchema;
+import de.cronn.jira.sync.domain.WellKnownCustomFieldType;
+
+public class JiraFieldRegistryTest {
+
+	@Test
+	public void testFindField() throws Exception {
+		JiraField summary = new JiraField("summary", "Summary", false, new JiraFieldSchema("string", null, null));
+		JiraField select = new JiraField("customfield_1", "Select", true, new JiraFieldSchema("option", null, WellKnownCustomFieldType.SELECT.getSchemaType()));
+		JiraField duplicate = new JiraField("customfield_2", "Select", true, new JiraFieldSchema("string", null, WellKnownCustomFieldType.TEXTAREA.getSchemaType()));
+
+		JiraFieldRegistry registry = new JiraFieldRegistry(Arrays.asList(summary, select, duplicate));
+
+		assertThat(registry.size()).isEqualTo(3);
+		assertThat(registry.findByName("Summary")).isSameAs(summary);
+		assertThat(registry.findByName("Select")).isSameAs(select);
+		assertThat(registry.findById("customfield_2")).isSameAs(duplicate);
+		assertThat(registry.findByName("Unknown")).isNull();
+		assertThat(registry.findById("customfield_3")).isNull();
+	}
+
+	@Test
+	public void testGetCustomFieldType() throws Exception {
+		JiraField summary = new JiraField("summary", "Summary", false, new JiraFieldSchema("string", null, null));
+		JiraField select = new JiraField("customfield_1", "Select", true, new JiraFieldSchema("option", null, WellKnownCustomFieldType.SELECT.getSchemaType()));
+		JiraField unknown = new JiraField("customfield_2", "Unknown", true, new JiraFieldSchema("string", null, "some:unknown"));
+
+		JiraFieldRegistry registry = new JiraFieldRegistry(Arrays.asList(summary, select, unknown));
+
+		assertThat(registry.getCustomFieldType(select)).isEqualTo(WellKnownCustomFieldType.SELECT);
+		assertThatExceptionOfType(IllegalArgumentException.class)
+			.isThrownBy(() -> registry.getCustomFieldType(unknown))
+			.withMessage("Unknown schema: some:unknown");
+		assertThatExceptionOfType(IllegalArgumentException.class)
+			.isThrownBy(() -> registry.getCustomFieldType(summary))
+			.withMessage("Unknown schema: null");
+	}
+
+	@Test
+	public void testManyFields() throws Exception {
+		List<JiraField> fields = new ArrayList<>();
+		for (int i = 0; i < 5000; i++) {
+			fields.add(new JiraField("customfield_" + i, "Field " + i, true, new JiraFieldSchema("string", null, WellKnownCustomFieldType.TEXTAREA.getSchemaType())));
+		}
+
+		JiraFieldRegistry registry = new JiraFieldRegistry(fields);
+
+		for (int i = 0; i < 20_000; i++) {
+			int index = i % fields.size();
+			JiraField field = registry.findByName("Field " + index);
+			assertThat(field).isSameAs(fields.get(index));
+			assertThat(registry.getCustomFieldType(field)).isEqualTo(WellKnownCustomFieldType.TEXTAREA);
+		}
+	}
+
+}
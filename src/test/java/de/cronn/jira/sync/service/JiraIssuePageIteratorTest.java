@@ -0,0 +1,111 @@
+package de.cronn.jira.sync.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.LongFunction;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.junit.Test;
+
+import de.cronn.jira.sync.domain.JiraIssue;
+import de.cronn.jira.sync.domain.JiraSearchResult;
+
+public class JiraIssuePageIteratorTest {
+
+	private static final long PAGE_SIZE = 2;
+
+	@Test
+	public void testFetchesPagesSequentiallyWithoutPrefetchExecutor() throws Exception {
+		List<Long> requestedPages = Collections.synchronizedList(new ArrayList<>());
+		JiraIssuePageIterator iterator = new JiraIssuePageIterator(pageFetcher(7, requestedPages), PAGE_SIZE, null, 1);
+
+		assertThat(iterator.next().getKey()).isEqualTo("TEST-0");
+		assertThat(requestedPages).containsExactly(0L);
+
+		assertThat(keys(iterator)).containsExactly("TEST-1", "TEST-2", "TEST-3", "TEST-4", "TEST-5", "TEST-6");
+		assertThat(requestedPages).containsExactly(0L, 2L, 4L, 6L);
+	}
+
+	@Test
+	public void testLimitsPagesInFlight() throws Exception {
+		List<Long> requestedPages = Collections.synchronizedList(new ArrayList<>());
+		JiraIssuePageIterator iterator = new JiraIssuePageIterator(pageFetcher(20, requestedPages), PAGE_SIZE, Runnable::run, 3);
+
+		assertThat(iterator.next().getKey()).isEqualTo("TEST-0");
+		assertThat(requestedPages).containsExactly(0L, 2L, 4L, 6L);
+
+		assertThat(keys(iterator)).hasSize(19);
+		assertThat(requestedPages).containsExactly(0L, 2L, 4L, 6L, 8L, 10L, 12L, 14L, 16L, 18L);
+	}
+
+	@Test
+	public void testMergesConcurrentlyFetchedPagesInOrder() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Long> requestedPages = Collections.synchronizedList(new ArrayList<>());
+			JiraIssuePageIterator iterator = new JiraIssuePageIterator(pageFetcher(19, requestedPages), PAGE_SIZE, executor, 4);
+
+			List<String> expectedKeys = LongStream.range(0, 19).mapToObj(i -> "TEST-" + i).collect(Collectors.toList());
+			assertThat(keys(iterator)).isEqualTo(expectedKeys);
+			assertThat(requestedPages).hasSize(10);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testFetchesMoreThanTenPages() throws Exception {
+		List<Long> requestedPages = Collections.synchronizedList(new ArrayList<>());
+		JiraIssuePageIterator iterator = new JiraIssuePageIterator(pageFetcher(50, requestedPages), PAGE_SIZE, Runnable::run, 3);
+
+		List<String> expectedKeys = LongStream.range(0, 50).mapToObj(i -> "TEST-" + i).collect(Collectors.toList());
+		assertThat(keys(iterator)).isEqualTo(expectedKeys);
+		assertThat(requestedPages).hasSize(25);
+	}
+
+	@Test
+	public void testDeduplicatesIssuesByKey() throws Exception {
+		LongFunction<JiraSearchResult> pageFetcher = startAt -> {
+			if (startAt == 0) {
+				return searchResult(3, new JiraIssue("1", "TEST-1"), new JiraIssue("2", "TEST-2"));
+			} else {
+				return searchResult(3, new JiraIssue("2", "TEST-2"));
+			}
+		};
+		JiraIssuePageIterator iterator = new JiraIssuePageIterator(pageFetcher, PAGE_SIZE, Runnable::run, 2);
+
+		assertThat(keys(iterator)).containsExactly("TEST-1", "TEST-2");
+	}
+
+	private static LongFunction<JiraSearchResult> pageFetcher(long total, List<Long> requestedPages) {
+		return startAt -> {
+			requestedPages.add(startAt);
+			JiraIssue[] issues = LongStream.range(startAt, Math.min(startAt + PAGE_SIZE, total))
+				.mapToObj(i -> new JiraIssue(String.valueOf(i), "TEST-" + i))
+				.toArray(JiraIssue[]::new);
+			return searchResult(total, issues);
+		};
+	}
+
+	private static JiraSearchResult searchResult(long total, JiraIssue... issues) {
+		JiraSearchResult searchResult = new JiraSearchResult();
+		searchResult.setTotal(total);
+		searchResult.setMaxResults(PAGE_SIZE);
+		searchResult.setIssues(Arrays.asList(issues));
+		return searchResult;
+	}
+
+	private static List<String> keys(JiraIssuePageIterator iterator) {
+		List<String> keys = new ArrayList<>();
+		iterator.forEachRemaining(issue -> keys.add(issue.getKey()));
+		return keys;
+	}
+
+}
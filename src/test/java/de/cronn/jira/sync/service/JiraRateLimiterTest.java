@@ -0,0 +1,209 @@
+package de.cronn.jira.sync.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.net.URI;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+
+import de.cronn.jira.sync.config.RateLimitConfig;
+
+@RunWith(MockitoJUnitRunner.class)
+public class JiraRateLimiterTest {
+
+	private static final byte[] BODY = new byte[0];
+
+	@Mock
+	private HttpRequest request;
+
+	@Mock
+	private ClientHttpRequestExecution execution;
+
+	private RateLimitConfig config;
+
+	@Before
+	public void setUp() throws Exception {
+		config = new RateLimitConfig();
+		config.setEnabled(true);
+		config.setMaxConcurrentRequests(4);
+		config.setMaxRetries(2);
+		lenient().doReturn(HttpMethod.GET).when(request).getMethod();
+		lenient().doReturn(new URI("https://jira/rest/api/2/search")).when(request).getURI();
+	}
+
+	@Test
+	public void testRetryAfterThrottling() throws Exception {
+		ClientHttpResponse throttledResponse = response(429, "0");
+		ClientHttpResponse okResponse = response(200, null);
+		when(execution.execute(request, BODY)).thenReturn(throttledResponse, okResponse);
+
+		JiraRateLimiter rateLimiter = new JiraRateLimiter("https://jira", config);
+		ClientHttpResponse response = rateLimiter.intercept(request, BODY, execution);
+
+		assertThat(response).isSameAs(okResponse);
+		verify(execution, times(2)).execute(request, BODY);
+		verify(throttledResponse).close();
+		assertThat(rateLimiter.getThrottledResponses()).isEqualTo(1L);
+		assertThat(rateLimiter.getConcurrencyLimit()).isEqualTo(2);
+		assertThat(rateLimiter.getInFlightRequests()).isZero();
+	}
+
+	@Test
+	public void testGiveUpAfterMaxRetries() throws Exception {
+		ClientHttpResponse throttledResponse = response(503, "0");
+		when(execution.execute(request, BODY)).thenReturn(throttledResponse);
+
+		JiraRateLimiter rateLimiter = new JiraRateLimiter("https://jira", config);
+		ClientHttpResponse response = rateLimiter.intercept(request, BODY, execution);
+
+		assertThat(response).isSameAs(throttledResponse);
+		verify(execution, times(3)).execute(request, BODY);
+		assertThat(rateLimiter.getConcurrencyLimit()).isEqualTo(1);
+	}
+
+	@Test
+	public void testConcurrencyLimitRecovers() throws Exception {
+		ClientHttpResponse throttledResponse = response(429, "0");
+		ClientHttpResponse okResponse = response(200, null);
+		when(execution.execute(request, BODY)).thenReturn(throttledResponse, throttledResponse, okResponse);
+
+		JiraRateLimiter rateLimiter = new JiraRateLimiter("https://jira", config);
+		rateLimiter.intercept(request, BODY, execution);
+		assertThat(rateLimiter.getConcurrencyLimit()).isEqualTo(2);
+
+		for (int i = 0; i < 10; i++) {
+			rateLimiter.intercept(request, BODY, execution);
+		}
+		assertThat(rateLimiter.getConcurrencyLimit()).isEqualTo(4);
+	}
+
+	@Test
+	public void testRequestRateBacksOffAndRecovers() throws Exception {
+		config.setRequestsPerSecond(8);
+		config.setMaxRetries(0);
+		ClientHttpResponse throttledResponse = response(429, "0");
+		ClientHttpResponse okResponse = response(200, null);
+		when(execution.execute(request, BODY)).thenReturn(throttledResponse, okResponse);
+
+		JiraRateLimiter rateLimiter = new JiraRateLimiter("https://jira", config);
+		assertThat(rateLimiter.getRequestsPerSecond()).isEqualTo(8.0);
+
+		assertThat(rateLimiter.intercept(request, BODY, execution)).isSameAs(throttledResponse);
+		assertThat(rateLimiter.getRequestsPerSecond()).isEqualTo(4.0);
+
+		assertThat(rateLimiter.intercept(request, BODY, execution)).isSameAs(okResponse);
+		assertThat(rateLimiter.getRequestsPerSecond()).isEqualTo(4.25);
+	}
+
+	@Test
+	public void testUnlimitedRequestRateIsNotReduced() throws Exception {
+		config.setMaxRetries(0);
+		ClientHttpResponse throttledResponse = response(429, "0");
+		when(execution.execute(request, BODY)).thenReturn(throttledResponse);
+
+		JiraRateLimiter rateLimiter = new JiraRateLimiter("https://jira", config);
+		rateLimiter.intercept(request, BODY, execution);
+
+		assertThat(rateLimiter.getRequestsPerSecond()).isZero();
+		assertThat(rateLimiter.getConcurrencyLimit()).isEqualTo(2);
+	}
+
+	@Test
+	public void testGetRetryAfterMillis() throws Exception {
+		config.setDefaultRetryAfterMillis(500);
+		config.setMaxRetryAfterMillis(60_000);
+		JiraRateLimiter rateLimiter = new JiraRateLimiter("https://jira", config);
+
+		assertThat(rateLimiter.getRetryAfterMillis(headers(null))).isEqualTo(500L);
+		assertThat(rateLimiter.getRetryAfterMillis(headers("5"))).isEqualTo(5_000L);
+		assertThat(rateLimiter.getRetryAfterMillis(headers("3600"))).isEqualTo(60_000L);
+		assertThat(rateLimiter.getRetryAfterMillis(headers("soon"))).isEqualTo(500L);
+
+		HttpHeaders dateHeaders = new HttpHeaders();
+		dateHeaders.setDate("Retry-After", System.currentTimeMillis() + 30_000);
+		assertThat(rateLimiter.getRetryAfterMillis(dateHeaders)).isBetween(25_000L, 30_000L);
+	}
+
+	@Test(timeout = 10_000L)
+	public void testConcurrencyLimit() throws Exception {
+		config.setMaxConcurrentRequests(1);
+		JiraRateLimiter rateLimiter = new JiraRateLimiter("https://jira", config);
+		CountDownLatch firstRequestStarted = new CountDownLatch(1);
+		CountDownLatch firstRequestMayFinish = new CountDownLatch(1);
+		ClientHttpResponse okResponse = response(200, null);
+		when(execution.execute(request, BODY)).thenAnswer(invocation -> {
+			if (firstRequestStarted.getCount() > 0) {
+				firstRequestStarted.countDown();
+				assertThat(firstRequestMayFinish.await(5, TimeUnit.SECONDS)).isTrue();
+			}
+			return okResponse;
+		});
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<ClientHttpResponse> first = executor.submit(() -> rateLimiter.intercept(request, BODY, execution));
+			assertThat(firstRequestStarted.await(5, TimeUnit.SECONDS)).isTrue();
+			Future<ClientHttpResponse> second = executor.submit(() -> rateLimiter.intercept(request, BODY, execution));
+
+			while (rateLimiter.getQueueDepth() == 0) {
+				Thread.sleep(10);
+			}
+			assertThat(rateLimiter.getInFlightRequests()).isEqualTo(1);
+			verify(execution, times(1)).execute(request, BODY);
+
+			firstRequestMayFinish.countDown();
+			assertThat(first.get()).isSameAs(okResponse);
+			assertThat(second.get()).isSameAs(okResponse);
+			assertThat(rateLimiter.getQueueDepth()).isZero();
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test(timeout = 10_000L)
+	public void testTokenBucket() throws Exception {
+		config.setRequestsPerSecond(4);
+		JiraRateLimiter rateLimiter = new JiraRateLimiter("https://jira", config);
+		ClientHttpResponse okResponse = response(200, null);
+		when(execution.execute(request, BODY)).thenReturn(okResponse);
+
+		long start = System.nanoTime();
+		for (int i = 0; i < 8; i++) {
+			rateLimiter.intercept(request, BODY, execution);
+		}
+		long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		assertThat(elapsedMillis).isGreaterThanOrEqualTo(800L);
+	}
+
+	private static ClientHttpResponse response(int statusCode, String retryAfter) throws Exception {
+		ClientHttpResponse response = mock(ClientHttpResponse.class);
+		lenient().doReturn(statusCode).when(response).getRawStatusCode();
+		lenient().doReturn(headers(retryAfter)).when(response).getHeaders();
+		return response;
+	}
+
+	private static HttpHeaders headers(String retryAfter) {
+		HttpHeaders headers = new HttpHeaders();
+		if (retryAfter != null) {
+			headers.set("Retry-After", retryAfter);
+		}
+		return headers;
+	}
+
+}
@@ -0,0 +1,176 @@
+package de.cronn.jira.sync.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.net.URI;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import de.cronn.jira.sync.config.RetryConfig;
+
+@RunWith(MockitoJUnitRunner.class)
+public class JiraRequestRetrierTest {
+
+	private static final byte[] BODY = new byte[0];
+
+	@Mock
+	private HttpRequest request;
+
+	@Mock
+	private ClientHttpRequestExecution execution;
+
+	@Mock
+	private ClientHttpRequestInterceptor attemptInterceptor;
+
+	private RetryConfig config;
+
+	@Before
+	public void setUp() throws Exception {
+		config = new RetryConfig();
+		config.setEnabled(true);
+		config.setMaxAttempts(3);
+		config.setInitialBackoffMillis(1);
+		config.setMaxBackoffMillis(5);
+		lenient().doReturn(HttpMethod.GET).when(request).getMethod();
+		lenient().doReturn(new URI("https://jira/rest/api/2/search")).when(request).getURI();
+	}
+
+	@Test
+	public void testRetryBadGateway() throws Exception {
+		ClientHttpResponse badGatewayResponse = response(502);
+		ClientHttpResponse okResponse = response(200);
+		when(execution.execute(request, BODY)).thenReturn(badGatewayResponse, okResponse);
+
+		JiraRequestRetrier requestRetrier = new JiraRequestRetrier("https://jira", config);
+		ClientHttpResponse response = requestRetrier.intercept(request, BODY, execution);
+
+		assertThat(response).isSameAs(okResponse);
+		verify(badGatewayResponse).close();
+		assertThat(requestRetrier.getRetries()).isEqualTo(1L);
+	}
+
+	@Test
+	public void testRetryIOException() throws Exception {
+		ClientHttpResponse okResponse = response(200);
+		when(execution.execute(request, BODY)).thenThrow(new IOException("Connection reset")).thenReturn(okResponse);
+
+		JiraRequestRetrier requestRetrier = new JiraRequestRetrier("https://jira", config);
+		ClientHttpResponse response = requestRetrier.intercept(request, BODY, execution);
+
+		assertThat(response).isSameAs(okResponse);
+		verify(execution, times(2)).execute(request, BODY);
+	}
+
+	@Test
+	public void testGiveUpAfterMaxAttempts() throws Exception {
+		ClientHttpResponse gatewayTimeoutResponse = response(504);
+		when(execution.execute(request, BODY)).thenReturn(gatewayTimeoutResponse);
+
+		JiraRequestRetrier requestRetrier = new JiraRequestRetrier("https://jira", config);
+		ClientHttpResponse response = requestRetrier.intercept(request, BODY, execution);
+
+		assertThat(response).isSameAs(gatewayTimeoutResponse);
+		verify(execution, times(3)).execute(request, BODY);
+		assertThat(requestRetrier.getRetries()).isEqualTo(2L);
+	}
+
+	@Test
+	public void testGiveUpWhenTimeBudgetIsExceeded() throws Exception {
+		config.setInitialBackoffMillis(10_000);
+		config.setMaxBackoffMillis(10_000);
+		config.setTimeBudgetMillis(0);
+		ClientHttpResponse badGatewayResponse = response(502);
+		when(execution.execute(request, BODY)).thenReturn(badGatewayResponse);
+
+		JiraRequestRetrier requestRetrier = new JiraRequestRetrier("https://jira", config);
+		ClientHttpResponse response = requestRetrier.intercept(request, BODY, execution);
+
+		assertThat(response).isSameAs(badGatewayResponse);
+		verify(execution, times(1)).execute(request, BODY);
+	}
+
+	@Test
+	public void testDoNotRetryPost() throws Exception {
+		doReturn(HttpMethod.POST).when(request).getMethod();
+		ClientHttpResponse badGatewayResponse = response(502);
+		when(execution.execute(request, BODY)).thenReturn(badGatewayResponse);
+
+		JiraRequestRetrier requestRetrier = new JiraRequestRetrier("https://jira", config);
+		ClientHttpResponse response = requestRetrier.intercept(request, BODY, execution);
+
+		assertThat(response).isSameAs(badGatewayResponse);
+		verify(execution, times(1)).execute(request, BODY);
+		assertThat(requestRetrier.getRetries()).isZero();
+	}
+
+	@Test
+	public void testRetryPut() throws Exception {
+		doReturn(HttpMethod.PUT).when(request).getMethod();
+		ClientHttpResponse badGatewayResponse = response(502);
+		ClientHttpResponse noContentResponse = response(204);
+		when(execution.execute(request, BODY)).thenReturn(badGatewayResponse, noContentResponse);
+
+		JiraRequestRetrier requestRetrier = new JiraRequestRetrier("https://jira", config);
+		ClientHttpResponse response = requestRetrier.intercept(request, BODY, execution);
+
+		assertThat(response).isSameAs(noContentResponse);
+	}
+
+	@Test
+	public void testDoNotRetryOtherStatusCodes() throws Exception {
+		ClientHttpResponse notFoundResponse = response(404);
+		when(execution.execute(request, BODY)).thenReturn(notFoundResponse);
+
+		JiraRequestRetrier requestRetrier = new JiraRequestRetrier("https://jira", config);
+		ClientHttpResponse response = requestRetrier.intercept(request, BODY, execution);
+
+		assertThat(response).isSameAs(notFoundResponse);
+		verify(execution, times(1)).execute(request, BODY);
+	}
+
+	@Test
+	public void testEveryAttemptPassesAttemptInterceptor() throws Exception {
+		ClientHttpResponse badGatewayResponse = response(502);
+		ClientHttpResponse okResponse = response(200);
+		when(attemptInterceptor.intercept(request, BODY, execution)).thenReturn(badGatewayResponse, badGatewayResponse, okResponse);
+
+		JiraRequestRetrier requestRetrier = new JiraRequestRetrier("https://jira", config, attemptInterceptor);
+		ClientHttpResponse response = requestRetrier.intercept(request, BODY, execution);
+
+		assertThat(response).isSameAs(okResponse);
+		verify(attemptInterceptor, times(3)).intercept(request, BODY, execution);
+		verifyNoInteractions(execution);
+	}
+
+	@Test
+	public void testGetBackoffMillis() throws Exception {
+		config.setInitialBackoffMillis(100);
+		config.setMaxBackoffMillis(1_000);
+		JiraRequestRetrier requestRetrier = new JiraRequestRetrier("https://jira", config);
+
+		for (int i = 0; i < 100; i++) {
+			assertThat(requestRetrier.getBackoffMillis(1)).isBetween(0L, 100L);
+			assertThat(requestRetrier.getBackoffMillis(3)).isBetween(0L, 400L);
+			assertThat(requestRetrier.getBackoffMillis(10)).isBetween(0L, 1_000L);
+			assertThat(requestRetrier.getBackoffMillis(100)).isBetween(0L, 1_000L);
+		}
+	}
+
+	private static ClientHttpResponse response(int statusCode) throws IOException {
+		ClientHttpResponse response = mock(ClientHttpResponse.class);
+		lenient().doReturn(statusCode).when(response).getRawStatusCode();
+		return response;
+	}
+
+}
@@ -4,16 +4,23 @@ import static org.assertj.core.api.Assertions.*;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import javax.cache.Cache;
 import javax.cache.CacheManager;
 
+import org.ehcache.config.CacheConfiguration;
+import org.ehcache.config.ResourcePools;
+import org.ehcache.config.ResourceType;
+import org.ehcache.expiry.Duration;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.junit4.SpringRunner;
 
+import de.cronn.jira.sync.config.CacheTierConfig;
+import de.cronn.jira.sync.config.JiraSyncConfig;
 import de.cronn.jira.sync.domain.JiraProject;
 
 @RunWith(SpringRunner.class)
@@ -33,4 +40,45 @@ public class JiraServiceCacheConfigTest {
 		assertThat(cachedProject).isNotNull();
 	}
 
-}
\ No newline at end of file
+	@Test
+	public void testCreateCacheConfiguration_defaults() throws Exception {
+		CacheConfiguration<Object, Object> cacheConfiguration = JiraServiceCacheConfig.createCacheConfiguration("users", null, Duration.of(1, TimeUnit.HOURS), true);
+
+		ResourcePools resourcePools = cacheConfiguration.getResourcePools();
+		assertThat(resourcePools.getResourceTypeSet()).containsOnly(ResourceType.Core.HEAP, ResourceType.Core.DISK);
+		assertThat(resourcePools.getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(100L);
+		assertThat(resourcePools.getPoolForResource(ResourceType.Core.DISK).getSize()).isEqualTo(1L);
+		assertThat(cacheConfiguration.getExpiry().getExpiryForCreation("key", "value")).isEqualTo(Duration.of(1, TimeUnit.HOURS));
+	}
+
+	@Test
+	public void testCreateCacheConfiguration_configured() throws Exception {
+		CacheTierConfig tierConfig = new CacheTierConfig();
+		tierConfig.setHeapEntries(5000L);
+		tierConfig.setOffHeapMegabytes(16L);
+		tierConfig.setDiskMegabytes(64L);
+		tierConfig.setTimeToLiveSeconds(600L);
+
+		CacheConfiguration<Object, Object> cacheConfiguration = JiraServiceCacheConfig.createCacheConfiguration("users", tierConfig, Duration.of(1, TimeUnit.HOURS), true);
+
+		ResourcePools resourcePools = cacheConfiguration.getResourcePools();
+		assertThat(resourcePools.getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(5000L);
+		assertThat(resourcePools.getPoolForResource(ResourceType.Core.OFFHEAP).getSize()).isEqualTo(16L);
+		assertThat(resourcePools.getPoolForResource(ResourceType.Core.DISK).getSize()).isEqualTo(64L);
+		assertThat(cacheConfiguration.getExpiry().getExpiryForCreation("key", "value")).isEqualTo(Duration.of(600, TimeUnit.SECONDS));
+
+		CacheConfiguration<Object, Object> inMemoryConfiguration = JiraServiceCacheConfig.createCacheConfiguration("myself", tierConfig, Duration.of(1, TimeUnit.HOURS), false);
+		assertThat(inMemoryConfiguration.getResourcePools().getResourceTypeSet()).containsOnly(ResourceType.Core.HEAP, ResourceType.Core.OFFHEAP);
+	}
+
+	@Test
+	public void testUnknownCacheName() throws Exception {
+		JiraSyncConfig jiraSyncConfig = new JiraSyncConfig();
+		jiraSyncConfig.getCache().getCaches().put("unknown", new CacheTierConfig());
+
+		assertThatExceptionOfType(IllegalArgumentException.class)
+			.isThrownBy(() -> new JiraServiceCacheConfig().ehCacheManager(jiraSyncConfig))
+			.withMessageStartingWith("Unknown cache 'unknown'. Known caches: ");
+	}
+
+}
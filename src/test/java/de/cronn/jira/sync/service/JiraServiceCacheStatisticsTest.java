@@ -0,0 +1,64 @@
+package de.cronn.jira.sync.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.net.URI;
+import java.util.Map;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.configuration.MutableConfiguration;
+import javax.cache.management.CacheStatisticsMXBean;
+
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.cronn.jira.sync.config.JiraSyncConfig;
+
+public class JiraServiceCacheStatisticsTest {
+
+	private CacheManager cacheManager;
+	private JiraServiceCacheStatistics cacheStatistics;
+
+	@Before
+	public void setUp() throws Exception {
+		EhcacheCachingProvider cachingProvider = (EhcacheCachingProvider) Caching.getCachingProvider();
+		cacheManager = cachingProvider.getCacheManager(new URI("jira-sync-statistics-test"), new DefaultConfiguration(cachingProvider.getDefaultClassLoader()));
+		cacheManager.createCache("withStatistics", new MutableConfiguration<>());
+		cacheManager.createCache("withoutStatistics", new MutableConfiguration<>());
+		cacheManager.enableStatistics("withStatistics", true);
+
+		JiraSyncConfig jiraSyncConfig = new JiraSyncConfig();
+		jiraSyncConfig.getCache().setStatistics(true);
+		cacheStatistics = new JiraServiceCacheStatistics(cacheManager, jiraSyncConfig);
+	}
+
+	@After
+	public void tearDown() {
+		cacheManager.close();
+	}
+
+	@Test
+	public void testGetStatistics() throws Exception {
+		Cache<Object, Object> cache = cacheManager.getCache("withStatistics");
+		cache.put("key", "value");
+		cache.get("key");
+		cache.get("key");
+		cache.get("other key");
+
+		Map<String, CacheStatisticsMXBean> statistics = cacheStatistics.getStatistics();
+
+		assertThat(statistics).containsOnlyKeys("withStatistics");
+		CacheStatisticsMXBean cacheStatistics = statistics.get("withStatistics");
+		assertThat(cacheStatistics.getCachePuts()).isEqualTo(1L);
+		assertThat(cacheStatistics.getCacheHits()).isEqualTo(2L);
+		assertThat(cacheStatistics.getCacheMisses()).isEqualTo(1L);
+
+		this.cacheStatistics.logStatistics();
+	}
+
+}
@@ -2,45 +2,85 @@ package de.cronn.jira.sync.service;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.*;
 
 import java.net.MalformedURLException;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.client.MockRestServiceServer;
 import org.springframework.web.client.RestTemplate;
 
+import de.cronn.jira.sync.JiraSyncException;
 import de.cronn.jira.sync.config.JiraConnectionProperties;
+import de.cronn.jira.sync.domain.JiraBulkOperationError;
+import de.cronn.jira.sync.domain.JiraComment;
+import de.cronn.jira.sync.domain.JiraField;
+import de.cronn.jira.sync.domain.JiraFieldList;
+import de.cronn.jira.sync.domain.JiraFieldSchema;
 import de.cronn.jira.sync.domain.JiraFilterResult;
 import de.cronn.jira.sync.domain.JiraIssue;
+import de.cronn.jira.sync.domain.JiraIssueBulkCreateRequest;
+import de.cronn.jira.sync.domain.JiraIssueBulkCreateResponse;
 import de.cronn.jira.sync.domain.JiraLoginRequest;
 import de.cronn.jira.sync.domain.JiraLoginResponse;
 import de.cronn.jira.sync.domain.JiraSearchResult;
+import de.cronn.jira.sync.domain.WellKnownCustomFieldType;
 import de.cronn.jira.sync.domain.WellKnownJiraField;
 
 @RunWith(MockitoJUnitRunner.class)
 public class JiraServiceRestClientTest {
 
+	private static final String ISSUE_KEYS_URL = "http://localhost/jira/rest/api/2/search?jql={jql}&fields=key&startAt={startAt}&maxResults={pageSize}";
+	private static final String ISSUES_BY_KEYS_URL = "http://localhost/jira/rest/api/2/search?jql={jql}&fields={fieldsToFetch}&maxResults={maxResults}&validateQuery=false";
+
 	@Mock
 	private RestTemplateBuilder restTemplateBuilder;
 
 	@Mock
 	private RestTemplate restTemplate;
 
+	@Spy
+	private CacheManager cacheManager = new ConcurrentMapCacheManager(JiraServiceCacheConfig.CACHE_NAME_FIELDS);
+
 	@InjectMocks
 	private JiraServiceRestClient jiraServiceRestClient;
 
 	@Before
 	public void prepareMocks() {
 		doReturn(restTemplateBuilder).when(restTemplateBuilder).errorHandler(any());
+		doReturn(restTemplateBuilder).when(restTemplateBuilder).requestFactory(any(ClientHttpRequestFactory.class));
 		doReturn(restTemplate).when(restTemplateBuilder).build();
 	}
 
@@ -53,6 +93,77 @@ public class JiraServiceRestClientTest {
 		verifyNoMoreInteractions(restTemplate);
 	}
 
+	@Test
+	public void testLoginUsesPooledHttpClient() throws Exception {
+		JiraConnectionProperties connectionProperties = validConnectionProperties();
+		connectionProperties.setMaxConnectionsPerRoute(8);
+		jiraServiceRestClient.login(connectionProperties, true);
+
+		verify(restTemplateBuilder).requestFactory(isA(HttpComponentsClientHttpRequestFactory.class));
+
+		jiraServiceRestClient.logout();
+	}
+
+	@Test
+	public void testRetriedRequestsPassRateLimiter() throws Exception {
+		ArgumentCaptor<ClientHttpRequestInterceptor> interceptors = ArgumentCaptor.forClass(ClientHttpRequestInterceptor.class);
+		doReturn(restTemplateBuilder).when(restTemplateBuilder).additionalInterceptors(interceptors.capture());
+		JiraConnectionProperties connectionProperties = validConnectionProperties();
+		connectionProperties.setUsername(null);
+		connectionProperties.getRateLimit().setEnabled(true);
+		connectionProperties.getRetry().setEnabled(true);
+		connectionProperties.getRetry().setInitialBackoffMillis(1);
+		jiraServiceRestClient.login(connectionProperties, true);
+
+		RestTemplate interceptingRestTemplate = new RestTemplate();
+		interceptingRestTemplate.setInterceptors(interceptors.getAllValues());
+		MockRestServiceServer server = MockRestServiceServer.bindTo(interceptingRestTemplate).build();
+		String serverInfoUrl = "http://localhost/jira/rest/api/2/serverInfo";
+		HttpHeaders retryAfter = new HttpHeaders();
+		retryAfter.set("Retry-After", "0");
+		server.expect(requestTo(serverInfoUrl)).andRespond(withStatus(HttpStatus.BAD_GATEWAY));
+		server.expect(requestTo(serverInfoUrl)).andRespond(withStatus(HttpStatus.TOO_MANY_REQUESTS).headers(retryAfter));
+		server.expect(requestTo(serverInfoUrl)).andRespond(withStatus(HttpStatus.GATEWAY_TIMEOUT));
+		server.expect(requestTo(serverInfoUrl)).andRespond(withSuccess("{}", MediaType.APPLICATION_JSON));
+
+		assertThat(interceptingRestTemplate.getForObject(serverInfoUrl, String.class)).isEqualTo("{}");
+
+		server.verify();
+		assertThat(interceptors.getAllValues()).containsExactly(jiraServiceRestClient.getRequestRetrier());
+		assertThat(jiraServiceRestClient.getRequestRetrier().getRetries()).isEqualTo(2L);
+		assertThat(jiraServiceRestClient.getRateLimiter().getRequests()).isEqualTo(4L);
+		assertThat(jiraServiceRestClient.getRateLimiter().getThrottledResponses()).isEqualTo(1L);
+
+		jiraServiceRestClient.logout();
+	}
+
+	@Test
+	public void testLogoutWaitsForRunningAsyncCalls() throws Exception {
+		JiraConnectionProperties connectionProperties = validConnectionProperties();
+		connectionProperties.setUsername(null);
+		connectionProperties.setMaxConcurrentAsyncRequests(2);
+		jiraServiceRestClient.login(connectionProperties, true);
+
+		CountDownLatch callStarted = new CountDownLatch(1);
+		AtomicReference<String> urlSeenByCall = new AtomicReference<>();
+		CompletableFuture<Void> call = CompletableFuture.runAsync(() -> {
+			callStarted.countDown();
+			try {
+				Thread.sleep(100);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			urlSeenByCall.set(jiraServiceRestClient.getUrl());
+		}, jiraServiceRestClient.getAsyncExecutor());
+		assertThat(callStarted.await(10, TimeUnit.SECONDS)).isTrue();
+
+		jiraServiceRestClient.logout();
+
+		assertThat(call).isCompleted();
+		assertThat(urlSeenByCall.get()).isEqualTo("http://localhost/jira");
+		assertThat(jiraServiceRestClient.getAsyncExecutor()).isNull();
+	}
+
 	@Test
 	public void testLoginWithMissingUrl() throws Exception {
 		JiraConnectionProperties connectionProperties = validConnectionProperties();
@@ -200,6 +311,261 @@ public class JiraServiceRestClientTest {
 			.containsExactly("TEST-1", "TEST-2", "TEST-3");
 	}
 
+	@Test
+	public void testStreamIssuesByFilterId_fetchesPagesLazily() throws Exception {
+		JiraSearchResult result1 = new JiraSearchResult();
+		result1.setTotal(3);
+		result1.setIssues(Arrays.asList(
+			new JiraIssue("1", "TEST-1"),
+			new JiraIssue("2", "TEST-2")
+		));
+		result1.setMaxResults(2);
+
+		JiraSearchResult result2 = new JiraSearchResult();
+		result2.setTotal(3);
+		result2.setIssues(Collections.singletonList(
+			new JiraIssue("3", "TEST-3")
+		));
+		result2.setMaxResults(2);
+
+		String filterId = prepareGetIssuesByFilterId(result1, 0);
+		prepareGetIssuesByFilterId(result2, 2);
+
+		Iterator<JiraIssue> issues = jiraServiceRestClient.streamIssuesByFilterId(filterId, Collections.emptyList(), null, 2).iterator();
+		assertThat(issues.next().getKey()).isEqualTo("TEST-1");
+		assertThat(issues.next().getKey()).isEqualTo("TEST-2");
+		verify(restTemplate, never()).getForObject(eq(ISSUES_BY_KEYS_URL), eq(JiraSearchResult.class), eq("key in (TEST-3)"), any(), any());
+
+		assertThat(issues.next().getKey()).isEqualTo("TEST-3");
+		assertThat(issues.hasNext()).isFalse();
+		verify(restTemplate).getForObject(eq(ISSUES_BY_KEYS_URL), eq(JiraSearchResult.class), eq("key in (TEST-3)"), any(), any());
+	}
+
+	@Test
+	public void testStreamIssuesByFilterId_pinsIssueKeysBeforeFetchingIssues() throws Exception {
+		JiraSearchResult result1 = new JiraSearchResult();
+		result1.setTotal(3);
+		result1.setIssues(Arrays.asList(
+			new JiraIssue("1", "TEST-1"),
+			new JiraIssue("2", "TEST-2")
+		));
+		result1.setMaxResults(2);
+
+		JiraSearchResult result2 = new JiraSearchResult();
+		result2.setTotal(3);
+		result2.setIssues(Collections.singletonList(
+			new JiraIssue("3", "TEST-3")
+		));
+		result2.setMaxResults(2);
+
+		String filterId = prepareGetIssuesByFilterId(result1, 0);
+		prepareGetIssuesByFilterId(result2, 2);
+
+		Iterator<JiraIssue> issues = jiraServiceRestClient.streamIssuesByFilterId(filterId, Collections.emptyList(), null, 2).iterator();
+		verify(restTemplate, times(2)).getForObject(eq(ISSUE_KEYS_URL), eq(JiraSearchResult.class), eq("some JQL ORDER BY key ASC"), anyLong(), eq(2L));
+
+		assertThat(issues.next().getKey()).isEqualTo("TEST-1");
+		assertThat(issues.next().getKey()).isEqualTo("TEST-2");
+		assertThat(issues.next().getKey()).isEqualTo("TEST-3");
+		assertThat(issues.hasNext()).isFalse();
+		verify(restTemplate, times(2)).getForObject(eq(ISSUE_KEYS_URL), eq(JiraSearchResult.class), any(), any(), any());
+	}
+
+	@Test
+	public void testStreamIssuesByFilterId_withChangelog() throws Exception {
+		jiraServiceRestClient.login(validConnectionProperties(), true);
+
+		JiraFilterResult filterResult = new JiraFilterResult();
+		filterResult.setJql("some JQL");
+		doReturn(filterResult).when(restTemplate).getForObject("http://localhost/jira/rest/api/2/filter/{id}", JiraFilterResult.class, "1234");
+
+		JiraSearchResult searchResult = new JiraSearchResult();
+		searchResult.setTotal(1);
+		searchResult.setIssues(Collections.singletonList(new JiraIssue("1", "TEST-1")));
+
+		String fieldsToFetch = Arrays.stream(WellKnownJiraField.values()).map(WellKnownJiraField::getFieldName).collect(Collectors.joining(","));
+		doReturn(searchResult).when(restTemplate).getForObject(ISSUE_KEYS_URL,
+			JiraSearchResult.class, "some JQL ORDER BY key ASC", 0L, JiraServiceRestClient.DEFAULT_PAGE_SIZE);
+		doReturn(searchResult).when(restTemplate).getForObject(ISSUES_BY_KEYS_URL + "&expand=changelog",
+			JiraSearchResult.class, "key in (TEST-1)", fieldsToFetch, 1);
+
+		JiraIssueProjection projection = new JiraIssueProjection(Collections.emptyList(), true, true);
+		List<JiraIssue> issues = jiraServiceRestClient.streamIssuesByFilterId("1234", projection, null).collect(Collectors.toList());
+		assertThat(issues).extracting(JiraIssue::getKey).containsExactly("TEST-1");
+	}
+
+	@Test
+	public void testStreamIssuesByFilterId_fetchesIssuesInChunksOfMaxKeysPerSearch() throws Exception {
+		jiraServiceRestClient.login(validConnectionProperties(), true);
+
+		JiraFilterResult filterResult = new JiraFilterResult();
+		filterResult.setJql("some JQL");
+		doReturn(filterResult).when(restTemplate).getForObject("http://localhost/jira/rest/api/2/filter/{id}", JiraFilterResult.class, "1234");
+
+		List<JiraIssue> allIssues = IntStream.rangeClosed(1, 60)
+			.mapToObj(i -> new JiraIssue(String.valueOf(i), "TEST-" + i))
+			.collect(Collectors.toList());
+		JiraSearchResult keysResult = new JiraSearchResult();
+		keysResult.setTotal(allIssues.size());
+		keysResult.setIssues(allIssues);
+		doReturn(keysResult).when(restTemplate).getForObject(ISSUE_KEYS_URL,
+			JiraSearchResult.class, "some JQL ORDER BY key ASC", 0L, JiraServiceRestClient.DEFAULT_PAGE_SIZE);
+
+		String fieldsToFetch = Arrays.stream(WellKnownJiraField.values()).map(WellKnownJiraField::getFieldName).collect(Collectors.joining(","));
+		List<JiraIssue> firstChunk = allIssues.subList(0, JiraServiceRestClient.MAX_KEYS_PER_SEARCH);
+		List<JiraIssue> secondChunk = allIssues.subList(JiraServiceRestClient.MAX_KEYS_PER_SEARCH, allIssues.size());
+		for (List<JiraIssue> chunk : Arrays.asList(firstChunk, secondChunk)) {
+			JiraSearchResult chunkResult = new JiraSearchResult();
+			chunkResult.setIssues(chunk);
+			String keysJql = chunk.stream().map(JiraIssue::getKey).collect(Collectors.joining(",", "key in (", ")"));
+			doReturn(chunkResult).when(restTemplate).getForObject(ISSUES_BY_KEYS_URL,
+				JiraSearchResult.class, keysJql, fieldsToFetch, chunk.size());
+		}
+
+		List<JiraIssue> issues = jiraServiceRestClient.streamIssuesByFilterId("1234", Collections.emptyList()).collect(Collectors.toList());
+		assertThat(issues).hasSize(60);
+		verify(restTemplate, times(2)).getForObject(eq(ISSUES_BY_KEYS_URL), eq(JiraSearchResult.class), any(), any(), any());
+	}
+
+	@Test
+	public void testGetIssuesByKeys_inChunks() throws Exception {
+		jiraServiceRestClient.login(validConnectionProperties(), false);
+
+		List<String> keys = IntStream.rangeClosed(1, JiraServiceRestClient.MAX_KEYS_PER_SEARCH + 1)
+			.mapToObj(number -> "TEST-" + number)
+			.collect(Collectors.toList());
+		String firstJql = "key in (" + String.join(",", keys.subList(0, JiraServiceRestClient.MAX_KEYS_PER_SEARCH)) + ")";
+		String secondJql = "key in (TEST-" + keys.size() + ")";
+
+		JiraSearchResult result1 = new JiraSearchResult();
+		result1.setIssues(Arrays.asList(new JiraIssue("1", "TEST-1"), new JiraIssue("2", "TEST-2")));
+		JiraSearchResult result2 = new JiraSearchResult();
+		result2.setIssues(Collections.singletonList(new JiraIssue("51", "TEST-51")));
+
+		String url = "http://localhost/jira/rest/api/2/search?jql={jql}&fields={fieldsToFetch}&maxResults={maxResults}&validateQuery=false";
+		String fieldsToFetch = Arrays.stream(WellKnownJiraField.values()).map(WellKnownJiraField::getFieldName).collect(Collectors.joining(","));
+		doReturn(result1).when(restTemplate).getForObject(url, JiraSearchResult.class, firstJql, fieldsToFetch, JiraServiceRestClient.MAX_KEYS_PER_SEARCH);
+		doReturn(result2).when(restTemplate).getForObject(url, JiraSearchResult.class, secondJql, fieldsToFetch, 1);
+
+		List<JiraIssue> issues = jiraServiceRestClient.getIssuesByKeys(keys, new JiraIssueProjection(Collections.emptyList(), true));
+		assertThat(issues).extracting(JiraIssue::getKey).containsExactly("TEST-1", "TEST-2", "TEST-51");
+	}
+
+	@Test
+	public void testGetIssuesByKeys_empty() throws Exception {
+		List<JiraIssue> issues = jiraServiceRestClient.getIssuesByKeys(Collections.emptyList(), new JiraIssueProjection(Collections.emptyList(), true));
+		assertThat(issues).isEmpty();
+		verifyNoInteractions(restTemplate);
+	}
+
+	@Test
+	public void testGetIssueByKey_withoutComments() throws Exception {
+		jiraServiceRestClient.login(validConnectionProperties(), false);
+
+		JiraIssue issue = new JiraIssue("1", "TEST-1");
+		String fieldsToFetch = Arrays.stream(WellKnownJiraField.values())
+			.filter(field -> field != WellKnownJiraField.COMMENT)
+			.map(WellKnownJiraField::getFieldName)
+			.collect(Collectors.joining(","));
+		doReturn(issue).when(restTemplate).getForObject("http://localhost/jira/rest/api/2/issue/{key}?fields={fieldsToFetch}", JiraIssue.class, "TEST-1", fieldsToFetch);
+
+		JiraIssue fetchedIssue = jiraServiceRestClient.getIssueByKey("TEST-1", new JiraIssueProjection(Collections.emptyList(), false));
+		assertThat(fetchedIssue).isSameAs(issue);
+	}
+
+	@Test
+	public void testWriteComments_concurrently() throws Exception {
+		JiraConnectionProperties connectionProperties = validConnectionProperties();
+		connectionProperties.setMaxConcurrentCommentRequests(4);
+		jiraServiceRestClient.login(connectionProperties, false);
+
+		String commentUrl = "http://localhost/jira/rest/api/2/issue/{issueId}/comment";
+		CountDownLatch firstCommentAdded = new CountDownLatch(1);
+		doAnswer(invocation -> {
+			firstCommentAdded.countDown();
+			return null;
+		}).when(restTemplate).postForObject(eq(commentUrl), any(JiraComment.class), eq(JiraComment.class), eq("TEST-1"));
+		doAnswer(invocation -> {
+			assertThat(firstCommentAdded.await(10, TimeUnit.SECONDS)).isTrue();
+			return null;
+		}).when(restTemplate).put(eq(commentUrl + "/{commentId}"), any(JiraComment.class), eq("TEST-1"), anyString());
+
+		Map<String, String> commentTextsById = new LinkedHashMap<>();
+		commentTextsById.put("10", "updated comment");
+		commentTextsById.put("11", "other updated comment");
+		jiraServiceRestClient.writeComments("TEST-1", commentTextsById, Arrays.asList("first", "second", "third"));
+
+		verify(restTemplate, times(2)).put(eq(commentUrl + "/{commentId}"), any(JiraComment.class), eq("TEST-1"), anyString());
+		InOrder inOrder = inOrder(restTemplate);
+		for (String commentText : Arrays.asList("first", "second", "third")) {
+			inOrder.verify(restTemplate).postForObject(eq(commentUrl), argThat((JiraComment comment) -> comment.getBody().equals(commentText)), eq(JiraComment.class), eq("TEST-1"));
+		}
+
+		jiraServiceRestClient.logout();
+	}
+
+	@Test
+	public void testFindField_fetchesFieldsOncePerCacheRefresh() throws Exception {
+		jiraServiceRestClient.login(validConnectionProperties(), false);
+
+		JiraFieldList fields = new JiraFieldList();
+		fields.add(new JiraField("summary", "Summary", false, new JiraFieldSchema("string", null, null)));
+		fields.add(new JiraField("customfield_1", "Labels", true, new JiraFieldSchema("array", "string", WellKnownCustomFieldType.LABELS.getSchemaType())));
+		doReturn(fields).when(restTemplate).getForObject("http://localhost/jira/rest/api/2/field", JiraFieldList.class);
+
+		JiraField labels = jiraServiceRestClient.findField("Labels");
+		assertThat(labels.getId()).isEqualTo("customfield_1");
+		assertThat(jiraServiceRestClient.findFieldById("summary").getName()).isEqualTo("Summary");
+		assertThat(jiraServiceRestClient.getCustomFieldType(labels)).isEqualTo(WellKnownCustomFieldType.LABELS);
+		assertThatExceptionOfType(JiraSyncException.class)
+			.isThrownBy(() -> jiraServiceRestClient.findField("Unknown"))
+			.withMessageStartingWith("Field 'Unknown' not found in ");
+
+		verify(restTemplate).getForObject("http://localhost/jira/rest/api/2/field", JiraFieldList.class);
+		assertThat(cacheManager.getCache(JiraServiceCacheConfig.CACHE_NAME_FIELDS).get(jiraServiceRestClient.getUrl(), List.class))
+			.as("shares the cache entry of getFields()")
+			.isSameAs(fields);
+
+		cacheManager.getCache(JiraServiceCacheConfig.CACHE_NAME_FIELDS).clear();
+		jiraServiceRestClient.findField("Labels");
+
+		verify(restTemplate, times(2)).getForObject("http://localhost/jira/rest/api/2/field", JiraFieldList.class);
+	}
+
+	@Test
+	public void testCreateIssues_readsElementErrorsOfRejectedBulkRequest() throws Exception {
+		jiraServiceRestClient.login(validConnectionProperties(), false);
+
+		HttpHeaders responseHeaders = new HttpHeaders();
+		responseHeaders.setContentType(MediaType.APPLICATION_JSON);
+		byte[] responseBody = ("{\"issues\":[],\"errors\":[{\"status\":400,\"failedElementNumber\":0,"
+			+ "\"elementErrors\":{\"errors\":{\"summary\":\"required\"}}}]}").getBytes(StandardCharsets.UTF_8);
+		doThrow(new JiraClientErrorException("http://localhost/jira", "Bad Request", HttpStatus.BAD_REQUEST, responseHeaders, responseBody))
+			.when(restTemplate).postForObject(eq("http://localhost/jira/rest/api/2/issue/bulk"), any(JiraIssueBulkCreateRequest.class), eq(JiraIssueBulkCreateResponse.class));
+		doReturn(Collections.singletonList(new MappingJackson2HttpMessageConverter())).when(restTemplate).getMessageConverters();
+
+		JiraIssueBulkCreateResponse response = jiraServiceRestClient.createIssues(Collections.singletonList(new JiraIssue()));
+
+		assertThat(response.getIssues()).isEmpty();
+		assertThat(response.getErrors()).extracting(JiraBulkOperationError::getFailedElementNumber).containsExactly(0);
+	}
+
+	@Test
+	public void testCreateIssues_rethrowsRejectedBulkRequestWithoutElementErrors() throws Exception {
+		jiraServiceRestClient.login(validConnectionProperties(), false);
+
+		HttpHeaders responseHeaders = new HttpHeaders();
+		responseHeaders.setContentType(MediaType.APPLICATION_JSON);
+		byte[] responseBody = "{\"errorMessages\":[\"invalid request\"]}".getBytes(StandardCharsets.UTF_8);
+		JiraClientErrorException rejection = new JiraClientErrorException("http://localhost/jira", "Bad Request", HttpStatus.BAD_REQUEST, responseHeaders, responseBody);
+		doThrow(rejection)
+			.when(restTemplate).postForObject(eq("http://localhost/jira/rest/api/2/issue/bulk"), any(JiraIssueBulkCreateRequest.class), eq(JiraIssueBulkCreateResponse.class));
+		doReturn(Collections.singletonList(new MappingJackson2HttpMessageConverter())).when(restTemplate).getMessageConverters();
+
+		assertThatThrownBy(() -> jiraServiceRestClient.createIssues(Collections.singletonList(new JiraIssue())))
+			.isSameAs(rejection);
+	}
+
 	private String prepareGetIssuesByFilterId(JiraSearchResult searchResult, long startAt) {
 		JiraConnectionProperties connectionProperties = validConnectionProperties();
 		jiraServiceRestClient.login(connectionProperties, true);
@@ -212,8 +578,15 @@ public class JiraServiceRestClientTest {
 
 		String fieldsToFetch = Arrays.stream(WellKnownJiraField.values()).map(WellKnownJiraField::getFieldName).collect(Collectors.joining(","));
 
-		doReturn(searchResult).when(restTemplate).getForObject("http://localhost/jira/rest/api/2/search?jql={jql}&fields={fieldsToFetch}&startAt={startAt}&maxResults={pageSize}",
-			JiraSearchResult.class, filterResult.getJql(), fieldsToFetch, startAt, searchResult.getMaxResults());
+		doReturn(searchResult).when(restTemplate).getForObject(ISSUE_KEYS_URL,
+			JiraSearchResult.class, jql + " ORDER BY key ASC", startAt, searchResult.getMaxResults());
+		if (!searchResult.getIssues().isEmpty()) {
+			JiraSearchResult issuesResult = new JiraSearchResult();
+			issuesResult.setIssues(searchResult.getIssues());
+			String keysJql = searchResult.getIssues().stream().map(JiraIssue::getKey).collect(Collectors.joining(",", "key in (", ")"));
+			doReturn(issuesResult).when(restTemplate).getForObject(ISSUES_BY_KEYS_URL,
+				JiraSearchResult.class, keysJql, fieldsToFetch, searchResult.getIssues().size());
+		}
 		return filterId;
 	}
 
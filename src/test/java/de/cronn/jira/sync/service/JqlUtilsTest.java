@@ -0,0 +1,36 @@
+package de.cronn.jira.sync.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.Test;
+
+public class JqlUtilsTest {
+
+	@Test
+	public void testRestrict() throws Exception {
+		assertThat(JqlUtils.restrict("project = ABC", null)).isEqualTo("project = ABC");
+		assertThat(JqlUtils.restrict("project = ABC", "")).isEqualTo("project = ABC");
+		assertThat(JqlUtils.restrict("project = ABC", "updated >= -15m")).isEqualTo("(project = ABC) AND updated >= -15m");
+		assertThat(JqlUtils.restrict("project = ABC OR labels = xyz", "updated >= -15m")).isEqualTo("(project = ABC OR labels = xyz) AND updated >= -15m");
+	}
+
+	@Test
+	public void testRestrictWithOrderBy() throws Exception {
+		assertThat(JqlUtils.restrict("project = ABC ORDER BY key ASC", "updated >= -15m"))
+			.isEqualTo("(project = ABC) AND updated >= -15m ORDER BY key ASC");
+		assertThat(JqlUtils.restrict("project = ABC order  by priority DESC, key", "updated >= -15m"))
+			.isEqualTo("(project = ABC) AND updated >= -15m order  by priority DESC, key");
+		assertThat(JqlUtils.restrict("ORDER BY created", "updated >= -15m"))
+			.isEqualTo("updated >= -15m ORDER BY created");
+	}
+
+	@Test
+	public void testOrderByKey() throws Exception {
+		assertThat(JqlUtils.orderByKey("project = ABC")).isEqualTo("project = ABC ORDER BY key ASC");
+		assertThat(JqlUtils.orderByKey("project = ABC order  by priority DESC, key")).isEqualTo("project = ABC ORDER BY key ASC");
+		assertThat(JqlUtils.orderByKey("(project = ABC) AND updated >= \"2016/05/23 20:00\" ORDER BY created"))
+			.isEqualTo("(project = ABC) AND updated >= \"2016/05/23 20:00\" ORDER BY key ASC");
+		assertThat(JqlUtils.orderByKey("ORDER BY created")).isEqualTo("ORDER BY key ASC");
+	}
+
+}
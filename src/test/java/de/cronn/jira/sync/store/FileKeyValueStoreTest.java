@@ -0,0 +1,87 @@
+package de.cronn.jira.sync.store;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FileKeyValueStoreTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void testPutAndGet() throws Exception {
+		Path file = temporaryFolder.getRoot().toPath().resolve("store");
+		try (FileKeyValueStore store = FileKeyValueStore.open(file)) {
+			assertThat(store.get("key1")).isNull();
+
+			store.put("key1", "value1");
+			store.put("key2", "value2");
+			store.put("key1", "value3");
+
+			assertThat(store.get("key1")).isEqualTo("value3");
+			assertThat(store.get("key2")).isEqualTo("value2");
+			assertThat(store.size()).isEqualTo(2);
+		}
+
+		try (FileKeyValueStore store = FileKeyValueStore.open(file)) {
+			assertThat(store.get("key1")).isEqualTo("value3");
+			assertThat(store.get("key2")).isEqualTo("value2");
+		}
+
+		assertThat(Files.readAllLines(file)).hasSize(2);
+	}
+
+	@Test
+	public void testRemoveAndClear() throws Exception {
+		Path file = temporaryFolder.getRoot().toPath().resolve("store");
+		try (FileKeyValueStore store = FileKeyValueStore.open(file)) {
+			store.put("key1", "value1");
+			store.put("key2", "value2");
+			store.remove("key1");
+			assertThat(store.get("key1")).isNull();
+		}
+
+		try (FileKeyValueStore store = FileKeyValueStore.open(file)) {
+			assertThat(store.get("key1")).isNull();
+			assertThat(store.get("key2")).isEqualTo("value2");
+			store.clear();
+			assertThat(store.size()).isZero();
+		}
+
+		try (FileKeyValueStore store = FileKeyValueStore.open(file)) {
+			assertThat(store.size()).isZero();
+		}
+	}
+
+	@Test
+	public void testIgnoresIncompleteLastLine() throws Exception {
+		Path file = temporaryFolder.getRoot().toPath().resolve("store");
+		try (FileKeyValueStore store = FileKeyValueStore.open(file)) {
+			store.put("key1", "value1");
+		}
+		Files.write(file, "key2\tvalu".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+		try (FileKeyValueStore store = FileKeyValueStore.open(file)) {
+			assertThat(store.get("key1")).isEqualTo("value1");
+			assertThat(store.get("key2")).isNull();
+		}
+	}
+
+	@Test
+	public void testRejectsLineBreaks() throws Exception {
+		Path file = temporaryFolder.getRoot().toPath().resolve("store");
+		try (FileKeyValueStore store = FileKeyValueStore.open(file)) {
+			assertThatExceptionOfType(IllegalArgumentException.class)
+				.isThrownBy(() -> store.put("key", "some\nvalue"));
+		}
+	}
+
+}
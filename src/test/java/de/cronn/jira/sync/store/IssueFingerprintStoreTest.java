@@ -0,0 +1,89 @@
+package de.cronn.jira.sync.store;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import de.cronn.jira.sync.TestClock;
+import de.cronn.jira.sync.config.JiraProjectSync;
+import de.cronn.jira.sync.config.JiraSyncConfig;
+import de.cronn.jira.sync.domain.JiraIssue;
+import de.cronn.jira.sync.service.JiraService;
+
+public class IssueFingerprintStoreTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private final JiraService jiraSource = mock(JiraService.class);
+	private final JiraService jiraTarget = mock(JiraService.class);
+	private final JiraIssue sourceIssue = new JiraIssue("1", "SRC-1");
+	private final JiraIssue targetIssue = new JiraIssue("2", "TRG-1");
+	private final JiraProjectSync projectSync = new JiraProjectSync();
+
+	private JiraSyncConfig jiraSyncConfig;
+	private IssueFingerprintStore fingerprintStore;
+
+	@Before
+	public void setUp() {
+		jiraSyncConfig = new JiraSyncConfig();
+		jiraSyncConfig.getState().setDirectory(temporaryFolder.getRoot().getPath());
+		jiraSyncConfig.getFingerprints().setEnabled(true);
+		fingerprintStore = new IssueFingerprintStore(jiraSyncConfig, new ObjectMapper(), new TestClock());
+
+		when(jiraSource.getUrl()).thenReturn("https://jira.source");
+		when(jiraTarget.getUrl()).thenReturn("https://jira.target");
+	}
+
+	@After
+	public void tearDown() {
+		fingerprintStore.close();
+	}
+
+	@Test
+	public void testComputeFingerprint() throws Exception {
+		String fingerprint = fingerprintStore.computeFingerprint(sourceIssue, targetIssue, projectSync);
+		assertThat(fingerprint).isEqualTo(fingerprintStore.computeFingerprint(sourceIssue, targetIssue, projectSync));
+
+		targetIssue.setKey("TRG-2");
+		assertThat(fingerprintStore.computeFingerprint(sourceIssue, targetIssue, projectSync)).isNotEqualTo(fingerprint);
+		targetIssue.setKey("TRG-1");
+
+		jiraSyncConfig.getPriorityMapping().put("High", "Critical");
+		assertThat(fingerprintStore.computeFingerprint(sourceIssue, targetIssue, projectSync)).isNotEqualTo(fingerprint);
+	}
+
+	@Test
+	public void testPutAndRemoveFingerprint() throws Exception {
+		String fingerprint = fingerprintStore.computeFingerprint(sourceIssue, targetIssue, projectSync);
+		assertThat(fingerprintStore.hasFingerprint(jiraSource, sourceIssue, jiraTarget, targetIssue, fingerprint)).isFalse();
+
+		fingerprintStore.putFingerprint(jiraSource, sourceIssue, jiraTarget, targetIssue, fingerprint);
+		assertThat(fingerprintStore.hasFingerprint(jiraSource, sourceIssue, jiraTarget, targetIssue, fingerprint)).isTrue();
+		assertThat(fingerprintStore.hasFingerprint(jiraSource, sourceIssue, jiraTarget, targetIssue, "other")).isFalse();
+
+		fingerprintStore.close();
+		assertThat(fingerprintStore.hasFingerprint(jiraSource, sourceIssue, jiraTarget, targetIssue, fingerprint)).isTrue();
+
+		fingerprintStore.removeFingerprint(jiraSource, sourceIssue, jiraTarget, targetIssue);
+		assertThat(fingerprintStore.hasFingerprint(jiraSource, sourceIssue, jiraTarget, targetIssue, fingerprint)).isFalse();
+	}
+
+	@Test
+	public void testDisabled() throws Exception {
+		jiraSyncConfig.getFingerprints().setEnabled(false);
+
+		assertThat(fingerprintStore.computeFingerprint(sourceIssue, targetIssue, projectSync)).isNull();
+		fingerprintStore.putFingerprint(jiraSource, sourceIssue, jiraTarget, targetIssue, "fingerprint");
+		assertThat(fingerprintStore.hasFingerprint(jiraSource, sourceIssue, jiraTarget, targetIssue, "fingerprint")).isFalse();
+		assertThat(temporaryFolder.getRoot().list()).isEmpty();
+	}
+
+}